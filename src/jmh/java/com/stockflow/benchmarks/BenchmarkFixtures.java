@@ -0,0 +1,48 @@
+package com.stockflow.benchmarks;
+
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+import com.stockflow.dto.userDtos.SignUpRequestDTO;
+import com.stockflow.model.product.Product;
+import com.stockflow.model.user.User;
+import com.stockflow.model.user.UserRole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Shared test data, built the same way the persistence layer would hand it to the services
+final class BenchmarkFixtures {
+
+    static final String TOKEN_SECRET = "benchmark-secret";
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(String login, UserRole role) {
+        User user = new User(new SignUpRequestDTO(login, "password", role));
+        ReflectionTestUtils.setField(user, "id", UUID.randomUUID()); // Normally generated on insert
+        return user;
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int index = 1; index <= count; index++) {
+            Product product = new Product(new ProductRequestDTO(null, "Product " + index, "Description of product " + index, index * 1.5, (long) index, null, null));
+            ReflectionTestUtils.setField(product, "id", (long) index); // Normally generated on insert
+            products.add(product);
+        }
+        return products;
+    }
+
+    // Binds a request to the thread, so HATEOAS links are built against a real host as in a controller
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,72 @@
+package com.stockflow.benchmarks;
+
+import com.stockflow.controllers.ProductController;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.hateoas.ControllerLinks;
+import com.stockflow.model.product.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Links;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Building a page of product responses with their self links: precomputed link templates versus a methodOn proxy per row
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductResponseBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkFixtures.products(PAGE_SIZE);
+        BenchmarkFixtures.bindRequest();
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> withoutLinks() {
+        return products.stream()
+                .map(ProductResponseDTO::new)
+                .toList();
+    }
+
+    // Expands the links as serialization would, so the comparison includes the deferred work
+    @Benchmark
+    public List<Links> withLinkTemplates() {
+        return products.stream()
+                .map(product -> new ProductResponseDTO(product).withSelfLink(ControllerLinks.PRODUCT).links())
+                .toList();
+    }
+
+    @Benchmark
+    public List<Links> withMethodOnLinks() {
+        return products.stream()
+                .map(product -> Links.of(linkTo(methodOn(ProductController.class).findById(product.getId(), null, null)).withSelfRel()))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
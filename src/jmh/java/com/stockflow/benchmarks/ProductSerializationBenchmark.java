@@ -0,0 +1,80 @@
+package com.stockflow.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.hateoas.ControllerLinks;
+import com.stockflow.serialization.converter.YamlJackson2HttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Writing a product list through each of the message converters the API negotiates (JSON, XML, YAML)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    private static final Type PRODUCT_LIST_TYPE = new TypeReference<List<ProductResponseDTO>>() {}.getType();
+
+    @Param({"json", "xml", "yaml"})
+    public String format;
+
+    @Param({"10", "500"})
+    public int size;
+
+    private AbstractJackson2HttpMessageConverter converter;
+    private MediaType mediaType;
+    private List<ProductResponseDTO> products;
+
+    @Setup
+    public void setUp() {
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "xml" -> {
+                converter = new MappingJackson2XmlHttpMessageConverter(Jackson2ObjectMapperBuilder.xml().build());
+                mediaType = MediaType.APPLICATION_XML;
+            }
+            case "yaml" -> {
+                converter = new YamlJackson2HttpMessageConverter();
+                mediaType = MediaType.parseMediaType("application/x-yaml");
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        BenchmarkFixtures.bindRequest(); // Links are expanded while writing, against the bound request
+        products = BenchmarkFixtures.products(size).stream()
+                .map(product -> new ProductResponseDTO(product).withSelfLink(ControllerLinks.PRODUCT)) // Same shape as a controller response
+                .toList();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(products, PRODUCT_LIST_TYPE, mediaType, outputMessage);
+        return outputMessage.getBodyAsBytes().length;
+    }
+}
@@ -0,0 +1,61 @@
+package com.stockflow.benchmarks;
+
+import com.stockflow.model.user.UserRole;
+import com.stockflow.repositories.UserRepository;
+import com.stockflow.security.SecurityFilter;
+import com.stockflow.security.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Full pass of an authenticated request through SecurityFilter, from the Authorization header to the SecurityContext
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private SecurityFilter securityFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        TokenService tokenService = new TokenService(BenchmarkFixtures.TOKEN_SECRET, 10_000, new SimpleMeterRegistry());
+        UserRepository userRepository = Mockito.mock(UserRepository.class); // Tokens carry their claims, the repository is not queried
+        securityFilter = new SecurityFilter(tokenService, userRepository, new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(1));
+        authorizationHeader = "Bearer " + tokenService.generateToken(BenchmarkFixtures.user("benchmark", UserRole.ADMIN));
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
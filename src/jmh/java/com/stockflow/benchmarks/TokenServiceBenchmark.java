@@ -0,0 +1,66 @@
+package com.stockflow.benchmarks;
+
+import com.stockflow.model.user.User;
+import com.stockflow.model.user.UserRole;
+import com.stockflow.security.AuthenticatedUser;
+import com.stockflow.security.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Token signing, verification of a token seen before (cache hit) and of tokens never seen (full HMAC check)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final int DISTINCT_TOKENS = 10_000;
+
+    private TokenService tokenService;
+    private TokenService uncachedTokenService;
+    private User user;
+    private String token;
+    private String[] distinctTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(BenchmarkFixtures.TOKEN_SECRET, 10_000, new SimpleMeterRegistry());
+        uncachedTokenService = new TokenService(BenchmarkFixtures.TOKEN_SECRET, 1, new SimpleMeterRegistry()); // Too small to ever hit
+        user = BenchmarkFixtures.user("benchmark", UserRole.ADMIN);
+        token = tokenService.generateToken(user);
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int index = 0; index < DISTINCT_TOKENS; index++) {
+            distinctTokens[index] = tokenService.generateToken(BenchmarkFixtures.user("benchmark-" + index, UserRole.COMMON));
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser validateCachedToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser validateNewToken() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return uncachedTokenService.validateToken(distinctTokens[next]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.stockflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A burst of I/O-bound requests on Tomcat's default pool (200 platform threads) versus one virtual thread per request,
+// plus the same virtual threads blocking inside synchronized to show what pinning costs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=8")
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+    private static final long SIMULATED_IO_MILLIS = 10; // Roughly one database round trip
+
+    @Param({"platform", "virtual", "virtual-pinned"})
+    public String mode;
+
+    @Param({"1000", "10000"})
+    public int requests;
+
+    private ExecutorService executor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Benchmark
+    public int handleBurst() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> responses = new ArrayList<>(requests);
+        for (int request = 0; request < requests; request++) {
+            responses.add(executor.submit(mode.equals("virtual-pinned") ? this::pinnedRequest : this::request));
+        }
+        int handled = 0;
+        for (Future<Integer> response : responses) handled += response.get();
+        return handled;
+    }
+
+    private int request() throws InterruptedException {
+        lock.lock(); // A j.u.c. lock, as the JDBC driver and pool use, lets the virtual thread unmount while it waits
+        lock.unlock();
+        Thread.sleep(SIMULATED_IO_MILLIS);
+        return 1;
+    }
+
+    private int pinnedRequest() throws InterruptedException {
+        synchronized (new Object()) { // Blocking inside synchronized keeps the carrier thread busy for the whole wait
+            Thread.sleep(SIMULATED_IO_MILLIS);
+        }
+        return 1;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
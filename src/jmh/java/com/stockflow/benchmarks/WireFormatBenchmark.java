@@ -0,0 +1,87 @@
+package com.stockflow.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.hateoas.ControllerLinks;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON versus the binary formats (CBOR, Smile): encode time of a product page, decode time of a bulk request and payload size
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<ProductRequestDTO>> PRODUCT_REQUEST_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponseDTO> products;
+    private byte[] requestPayload;
+
+    // Reported next to the timings in the JMH results (secondary metrics)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long responseBytes;
+        public long requestBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        BenchmarkFixtures.bindRequest();
+        products = BenchmarkFixtures.products(size).stream()
+                .map(product -> new ProductResponseDTO(product).withSelfLink(ControllerLinks.PRODUCT))
+                .toList();
+        requestPayload = objectMapper.writeValueAsBytes(BenchmarkFixtures.products(size).stream()
+                .map(product -> new ProductRequestDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(), product.getReorderThreshold(), null))
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] encodeResponse(PayloadSize payloadSize) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(products);
+        payloadSize.responseBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public List<ProductRequestDTO> decodeRequest(PayloadSize payloadSize) throws IOException {
+        payloadSize.requestBytes = requestPayload.length;
+        return objectMapper.readValue(requestPayload, PRODUCT_REQUEST_LIST);
+    }
+}
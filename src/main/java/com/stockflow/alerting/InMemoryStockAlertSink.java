@@ -0,0 +1,37 @@
+package com.stockflow.alerting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+
+// Keeps the most recent alerts in a bounded queue, the oldest are dropped first, read through GET /api/stock-alerts/recent
+@Component
+public class InMemoryStockAlertSink implements StockAlertSink {
+
+    private final LinkedBlockingDeque<StockAlert> alerts;
+
+    public InMemoryStockAlertSink(@Value("${api.alerts.sinks.memory.capacity:1000}") int capacity) {
+        this.alerts = new LinkedBlockingDeque<>(capacity);
+    }
+
+    @Override
+    public void publish(StockAlert alert) {
+        while (!alerts.offerFirst(alert)) { // Only the dispatcher thread publishes, so this loop ends after one removal
+            alerts.pollLast();
+        }
+    }
+
+    // Newest first
+    public List<StockAlert> recent(int limit) {
+        List<StockAlert> recent = new ArrayList<>(Math.min(limit, alerts.size()));
+        Iterator<StockAlert> iterator = alerts.iterator();
+        while (iterator.hasNext() && recent.size() < limit) {
+            recent.add(iterator.next());
+        }
+        return recent;
+    }
+}
@@ -0,0 +1,18 @@
+package com.stockflow.alerting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "api.alerts.sinks.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingStockAlertSink implements StockAlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingStockAlertSink.class);
+
+    @Override
+    public void publish(StockAlert alert) {
+        logger.warn("Stock alert {} for product with ID: {} (quantity: {}, reorder threshold: {}).", alert.type(), alert.productId(), alert.quantity(), alert.reorderThreshold());
+    }
+}
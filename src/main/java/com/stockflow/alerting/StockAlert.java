@@ -0,0 +1,6 @@
+package com.stockflow.alerting;
+
+import java.time.Instant;
+
+public record StockAlert(StockAlertType type, Long productId, long quantity, long reorderThreshold, Instant raisedAt) {
+}
@@ -0,0 +1,165 @@
+package com.stockflow.alerting;
+
+import com.stockflow.model.product.Product;
+import com.stockflow.repositories.ProductRepository;
+import com.stockflow.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Checks every quantity change against the product's reorder threshold, only products at or near their threshold are kept in memory
+@Component
+public class StockAlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertEngine.class);
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final Comparator<StockLevel> BY_HEADROOM = Comparator.comparingLong(StockLevel::headroom).thenComparing(StockLevel::productId);
+    private final ProductRepository repository;
+    private final List<StockAlertSink> sinks;
+    private final long nearPercent;
+    private final Map<StockAlertType, Counter> alertCounters = new EnumMap<>(StockAlertType.class);
+
+    // product ID -> last known level, only for products at or within nearPercent of their threshold
+    private final Map<Long, StockLevel> trackedById = new ConcurrentHashMap<>();
+
+    // The same levels, most urgent (lowest quantity minus threshold) first, so "below threshold" is a walk from the head
+    private final ConcurrentSkipListSet<StockLevel> byHeadroom = new ConcurrentSkipListSet<>(BY_HEADROOM);
+
+    // Sinks run on one background thread, a slow webhook never holds up a product write
+    private final ThreadPoolExecutor dispatcher;
+
+    public StockAlertEngine(ProductRepository repository,
+                            List<StockAlertSink> sinks,
+                            MeterRegistry meterRegistry,
+                            @Value("${api.alerts.low-stock.near-percent:20}") long nearPercent,
+                            @Value("${api.alerts.dispatch-queue-capacity:10000}") int dispatchQueueCapacity) {
+        this.repository = repository;
+        this.sinks = sinks;
+        this.nearPercent = nearPercent;
+        for (StockAlertType type : StockAlertType.values()) {
+            alertCounters.put(type, Counter.builder("stock.alerts")
+                    .description("Stock alerts raised")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(dispatchQueueCapacity),
+                Thread.ofPlatform().name("stock-alert-dispatcher").daemon().factory(),
+                (task, executor) -> logger.warn("Stock alert dispatch queue is full, dropping an alert."));
+    }
+
+    // Method seeds the index with the products already at or near their threshold, without raising alerts for them
+    @PostConstruct
+    public void build() {
+        long start = System.nanoTime();
+        Long after = Long.MIN_VALUE;
+        List<Product> products;
+        do {
+            products = repository.findNearReorderThreshold(after, nearPercent, Limit.of(BUILD_PAGE_SIZE));
+            for (Product product : products) {
+                StockLevel level = new StockLevel(product.getId(), quantityOf(product), product.getReorderThreshold(), product.getVersion());
+                trackedById.put(level.productId(), level);
+                byHeadroom.add(level);
+            }
+            if (!products.isEmpty()) after = products.get(products.size() - 1).getId();
+        } while (products.size() == BUILD_PAGE_SIZE);
+        logger.info("Stock alert index built with {} products near their reorder threshold in {} ms.", trackedById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Defers the check until the surrounding transaction commits (immediate when there is no transaction)
+    public void onChangeAfterCommit(Long productId, long version, long quantity, Long reorderThreshold) {
+        TransactionHooks.afterCommit(() -> onChange(productId, version, quantity, reorderThreshold));
+    }
+
+    // Method applies one committed quantity or threshold change, raising an alert when the product crosses its threshold
+    public void onChange(Long productId, long version, long quantity, Long reorderThreshold) {
+        trackedById.compute(productId, (id, previous) -> {
+            if (previous != null && previous.version() > version) return previous; // An older write that committed first but arrived late
+            StockLevel current = reorderThreshold != null && isNear(quantity, reorderThreshold) ? new StockLevel(id, quantity, reorderThreshold, version) : null;
+            if (previous != null) byHeadroom.remove(previous);
+            if (current != null) byHeadroom.add(current);
+
+            boolean wasLow = previous != null && previous.isLow();
+            boolean isLow = current != null && current.isLow();
+            if (isLow && quantity == 0 && (!wasLow || previous.quantity() > 0)) {
+                dispatch(StockAlertType.OUT_OF_STOCK, current);
+            } else if (isLow && !wasLow) {
+                dispatch(StockAlertType.LOW_STOCK, current);
+            } else if (wasLow && !isLow && reorderThreshold != null) {
+                dispatch(StockAlertType.RESTOCKED, new StockLevel(id, quantity, reorderThreshold, version));
+            }
+            return current;
+        });
+    }
+
+    public void remove(Long productId) {
+        trackedById.computeIfPresent(productId, (id, previous) -> {
+            byHeadroom.remove(previous);
+            return null;
+        });
+    }
+
+    // Method lists the products at or below their threshold (and optionally the ones near it), most urgent first, without touching the database
+    public List<StockLevel> lowStock(boolean includeNear, int limit) {
+        List<StockLevel> levels = new ArrayList<>(Math.min(limit, 256));
+        for (StockLevel level : byHeadroom) {
+            if (levels.size() == limit || (!includeNear && !level.isLow())) break;
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private boolean isNear(long quantity, long reorderThreshold) {
+        return quantity <= reorderThreshold + reorderThreshold * nearPercent / 100;
+    }
+
+    private void dispatch(StockAlertType type, StockLevel level) {
+        StockAlert alert = new StockAlert(type, level.productId(), level.quantity(), level.reorderThreshold(), Instant.now());
+        alertCounters.get(type).increment();
+        dispatcher.execute(() -> sinks.forEach(sink -> {
+            try {
+                sink.publish(alert);
+            } catch (RuntimeException exception) {
+                logger.warn("Stock alert sink {} failed: {}", sink.getClass().getSimpleName(), exception.getMessage());
+            }
+        }));
+    }
+
+    private static long quantityOf(Product product) {
+        return product.getQuantity() != null ? product.getQuantity() : 0;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public record StockLevel(Long productId, long quantity, long reorderThreshold, long version) {
+
+        public long headroom() {
+            return quantity - reorderThreshold;
+        }
+
+        public boolean isLow() {
+            return quantity <= reorderThreshold;
+        }
+    }
+}
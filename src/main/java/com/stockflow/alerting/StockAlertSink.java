@@ -0,0 +1,7 @@
+package com.stockflow.alerting;
+
+// Destination of stock alerts, called from the alert dispatcher thread and never from a request thread
+public interface StockAlertSink {
+
+    void publish(StockAlert alert);
+}
@@ -0,0 +1,7 @@
+package com.stockflow.alerting;
+
+public enum StockAlertType {
+    LOW_STOCK, // Quantity fell to or below the reorder threshold
+    OUT_OF_STOCK, // Quantity reached zero
+    RESTOCKED // Quantity went back above the reorder threshold
+}
@@ -0,0 +1,58 @@
+package com.stockflow.alerting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Posts each alert as JSON to a configured URL, fire and forget: failures are logged, never retried
+@Component
+@ConditionalOnProperty(name = "api.alerts.sinks.webhook.url")
+public class WebhookStockAlertSink implements StockAlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookStockAlertSink.class);
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public WebhookStockAlertSink(ObjectMapper objectMapper,
+                                 @Value("${api.alerts.sinks.webhook.url}") URI url,
+                                 @Value("${api.alerts.sinks.webhook.timeout:5s}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(StockAlert alert) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(alert)))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, exception) -> {
+                        if (exception != null) {
+                            logger.warn("Failed to post stock alert for product with ID: {} to the webhook: {}", alert.productId(), exception.getMessage());
+                        } else if (response.statusCode() >= 300) {
+                            logger.warn("Webhook answered {} to the stock alert for product with ID: {}.", response.statusCode(), alert.productId());
+                        }
+                    });
+        } catch (JsonProcessingException exception) {
+            logger.warn("Failed to serialize stock alert for product with ID: {}: {}", alert.productId(), exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.stockflow.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.stockflow.datasource.DataSourceRouting;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.repositories.ProductRepository;
+import com.stockflow.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Read-through cache in front of ProductRepository.findById, also remembers IDs that do not exist (negative lookups)
+@Component
+public class ProductCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCache.class);
+    private final ProductRepository repository;
+    private final boolean enabled;
+    private final Cache<Long, Optional<ProductResponseDTO>> cache;
+
+    // With virtual threads, loads run on their own virtual thread outside the cache's internal lock, so a slow query never pins the caller (null otherwise)
+    private final AsyncCache<Long, Optional<ProductResponseDTO>> asyncCache;
+    private final ExecutorService loadExecutor;
+
+    public ProductCache(ProductRepository repository,
+                        MeterRegistry meterRegistry,
+                        @Value("${api.cache.product.enabled:true}") boolean enabled,
+                        @Value("${api.cache.product.maximum-size:10000}") long maximumSize,
+                        @Value("${api.cache.product.ttl:10m}") Duration ttl,
+                        @Value("${api.cache.product.negative-ttl:30s}") Duration negativeTtl,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.repository = repository;
+        this.enabled = enabled;
+        Caffeine<Long, Optional<ProductResponseDTO>> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize) // Size-based eviction (least frequently used entries go first)
+                .expireAfter(new EntryExpiry(ttl, negativeTtl)) // Time-based eviction, shorter for missing IDs
+                .recordStats();
+        if (virtualThreads) {
+            this.loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            this.asyncCache = builder.executor(loadExecutor).buildAsync();
+            this.cache = asyncCache.synchronous();
+            CaffeineCacheMetrics.monitor(meterRegistry, asyncCache, "products"); // Publishes cache.gets (hit/miss), cache.evictions and cache.size
+        } else { // Platform threads are not pinned by the cache lock, a hand-off to another thread would only add latency to every miss
+            this.loadExecutor = null;
+            this.asyncCache = null;
+            this.cache = builder.build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+        }
+        logger.info("Product cache {} (maximum size: {}, ttl: {}, negative ttl: {}).", enabled ? "enabled" : "disabled", maximumSize, ttl, negativeTtl);
+    }
+
+    // Returns the product snapshot without links, loading it from the database on a miss
+    public Optional<ProductResponseDTO> findById(Long id) {
+        if (!enabled) return load(id);
+        if (asyncCache == null) return cache.get(id, this::load); // Concurrent misses share one load
+        try {
+            return asyncCache.get(id, (key, executor) -> CompletableFuture.supplyAsync(() -> load(key), executor)).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) throw cause; // Surfaces the repository error as-is
+            throw exception;
+        }
+    }
+
+    // Must be called after the write is committed, so a concurrent load cannot put the old row back
+    public void invalidate(Long id) {
+        if (enabled) cache.invalidate(id);
+    }
+
+    // Defers the invalidation until the surrounding transaction commits (immediate when there is no transaction)
+    public void invalidateAfterCommit(Long id) {
+        TransactionHooks.afterCommit(() -> invalidate(id));
+    }
+
+    public void invalidateAll() {
+        if (enabled) cache.invalidateAll();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (loadExecutor != null) loadExecutor.shutdown();
+    }
+
+    private Optional<ProductResponseDTO> load(Long id) {
+        return DataSourceRouting.onPrimary(() -> repository.findById(id).map(ProductResponseDTO::new)); // A lagging replica would keep an old version cached until the ttl
+    }
+
+    private record EntryExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, Optional<ProductResponseDTO>> {
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<ProductResponseDTO> product, long currentTime) {
+            return product.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<ProductResponseDTO> product, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, product, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<ProductResponseDTO> product, long currentTime, long currentDuration) {
+            return currentDuration; // Reads do not extend the entry lifetime
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.stockflow.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.hateoas.LinkTemplate;
+import com.stockflow.serialization.MediaTypeNegotiator;
+import com.stockflow.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Already-encoded product responses per product, version and format, so hot products are written without running Jackson (or gzip) again
+@Component
+public class ProductResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductResponseCache.class);
+    private static final int ENTRY_OVERHEAD = 64; // Rough bytes per cached variant besides the body, keeps tiny bodies from being weighed as free
+    private final MediaTypeNegotiator mediaTypeNegotiator;
+    private final boolean enabled;
+    private final long gzipMinSize;
+    private final Cache<Long, Representations> cache;
+
+    public ProductResponseCache(MediaTypeNegotiator mediaTypeNegotiator,
+                                MeterRegistry meterRegistry,
+                                @Value("${api.cache.product-response.enabled:true}") boolean enabled,
+                                @Value("${api.cache.product-response.maximum-size:64MB}") DataSize maximumSize,
+                                @Value("${api.cache.product-response.ttl:10m}") Duration ttl,
+                                @Value("${api.cache.product-response.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.mediaTypeNegotiator = mediaTypeNegotiator;
+        this.enabled = enabled;
+        this.gzipMinSize = gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes()) // Bounded by encoded bytes, not by entries
+                .weigher((Long id, Representations representations) -> representations.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-responses");
+        logger.info("Product response cache {} (maximum size: {}, ttl: {}, gzip from: {}).", enabled ? "enabled" : "disabled", maximumSize, ttl, gzipMinSize);
+    }
+
+    // Returns the product encoded in the given format, gzip-compressed when asked for and large enough to be worth it
+    public Encoded get(ProductResponseDTO product, MediaType mediaType, boolean gzip) {
+        Variant variant = new Variant(mediaType, LinkTemplate.currentBaseUri(), gzip); // Links are absolute, so the base URI is part of the bytes
+        if (!enabled) return encode(product, variant);
+
+        Representations cached = cache.getIfPresent(product.id());
+        if (cached != null && cached.version() == product.version()) {
+            Encoded encoded = cached.variants().get(variant);
+            if (encoded != null) return encoded;
+        }
+
+        Encoded encoded = encode(product, variant); // Outside the cache lock, concurrent misses may encode twice but never wait on each other
+        cache.asMap().compute(product.id(), (id, current) -> {
+            if (current == null || current.version() < product.version()) return Representations.of(product.version(), variant, encoded);
+            if (current.version() == product.version()) return current.with(variant, encoded);
+            return current; // A reader holding an older snapshot must not replace the newer representations
+        });
+        return encoded;
+    }
+
+    public void invalidate(Long id) {
+        if (enabled) cache.invalidate(id);
+    }
+
+    // Defers the invalidation until the surrounding transaction commits (immediate when there is no transaction)
+    public void invalidateAfterCommit(Long id) {
+        TransactionHooks.afterCommit(() -> invalidate(id));
+    }
+
+    private Encoded encode(ProductResponseDTO product, Variant variant) {
+        try {
+            byte[] body = mediaTypeNegotiator.objectMapper(variant.mediaType()).writeValueAsBytes(product);
+            if (!variant.gzip() || body.length < gzipMinSize) return new Encoded(body, false);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+                gzipStream.write(body);
+            }
+            return new Encoded(compressed.toByteArray(), true);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public record Encoded(byte[] body, boolean gzipped) {
+    }
+
+    private record Variant(MediaType mediaType, String baseUri, boolean gzip) {
+    }
+
+    // Every cached variant of one product version, replaced as a whole when a newer version is seen
+    private record Representations(long version, Map<Variant, Encoded> variants) {
+
+        static Representations of(long version, Variant variant, Encoded encoded) {
+            return new Representations(version, Map.of(variant, encoded));
+        }
+
+        Representations with(Variant variant, Encoded encoded) {
+            Map<Variant, Encoded> copy = new HashMap<>(variants); // Copy-on-write, readers never see a map being modified
+            copy.put(variant, encoded);
+            return new Representations(version, Map.copyOf(copy));
+        }
+
+        int weight() {
+            return variants.values().stream().mapToInt(encoded -> encoded.body().length + ENTRY_OVERHEAD).sum();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.stockflow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// Default management settings, loaded with the lowest precedence so application properties can override any of them
+@Configuration
+@PropertySource("classpath:actuator.properties")
+public class ActuatorConfig {
+}
@@ -0,0 +1,40 @@
+package com.stockflow.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class PersistenceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceConfig.class);
+
+    // Method enables JDBC batching, values set through spring.jpa.properties.* take precedence
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${api.jpa.batch-size:500}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true); // Groups inserts per table so they share a batch
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    // Method moves the product sequence past IDs generated before the switch from IDENTITY, so new IDs never collide
+    @Bean
+    public ApplicationRunner productSequenceAlignment(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            try {
+                jdbcTemplate.execute("select setval('tb_product_seq', greatest((select coalesce(max(id), 1) from tb_product), (select last_value from tb_product_seq)))");
+            } catch (DataAccessException exception) {
+                logger.warn("Could not align tb_product_seq with existing product IDs: {}", exception.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.stockflow.config;
+
+import com.stockflow.datasource.ReadYourWritesTracker;
+import com.stockflow.datasource.ReplicaPool;
+import com.stockflow.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sends read-only transactions to read replicas and everything else to the primary, only active when replica URLs are configured
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    // Method builds the primary pool the same way Boot would, including spring.datasource.hikari.* settings
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${api.datasource.replicas.read-your-writes:5s}") Duration window,
+                                                       @Value("${api.datasource.replicas.read-your-writes-maximum-size:100000}") long maximumSize) {
+        return new ReadYourWritesTracker(window, maximumSize);
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(HikariDataSource primaryDataSource,
+                                   DataSourceProperties properties,
+                                   ReadYourWritesTracker readYourWritesTracker,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${api.datasource.replicas.urls}") String urls,
+                                   @Value("${api.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                   @Value("${api.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                   @Value("${api.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                   @Value("${api.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+                                   @Value("${api.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int index = 0; index < replicaUrls.size(); index++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + index);
+            replica.setJdbcUrl(replicaUrls.get(index));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis()); // Short, a slow replica falls back to the primary instead of stalling the read
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1); // Starts even when a replica is down, the health check takes it out of rotation
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        logger.info("Routing read-only transactions to {} read replicas (max lag: {}).", replicas.size(), maxLag);
+        return new ReplicaPool(primaryDataSource, replicas, readYourWritesTracker, maxLag, meterRegistry);
+    }
+
+    // Connections are fetched lazily, on the first statement, once the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool, ReadYourWritesTracker readYourWritesTracker) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+        dataSource.setReadOnlyDataSource(replicaPool);
+        return dataSource;
+    }
+}
@@ -0,0 +1,21 @@
+package com.stockflow.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// Turns open-in-view off while replicas are enabled, a request-wide session would keep the first connection it got (possibly a replica's) for the writes after it
+public class ReplicaRoutingEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String PROPERTY_SOURCE_NAME = "replicaRoutingDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String replicaUrls = environment.getProperty("api.datasource.replicas.urls", "");
+        if (replicaUrls.isBlank()) return;
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of("spring.jpa.open-in-view", "false"))); // Last, an explicit setting still wins
+    }
+}
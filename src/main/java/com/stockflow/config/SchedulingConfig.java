@@ -0,0 +1,10 @@
+package com.stockflow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables the @Scheduled background jobs (e.g. expiring stale stock reservations)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
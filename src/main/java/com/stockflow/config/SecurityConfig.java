@@ -1,8 +1,12 @@
 package com.stockflow.config;
 
+import com.stockflow.security.BoundedPasswordEncoder;
 import com.stockflow.security.SecurityFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,15 +16,25 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
+    private final int serverPort;
+    private final int managementPort;
 
-    public SecurityConfig(SecurityFilter securityFilter) {
+    public SecurityConfig(SecurityFilter securityFilter,
+                          @Value("${server.port:8080}") int serverPort,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.securityFilter = securityFilter;
+        this.serverPort = serverPort;
+        this.managementPort = managementPort;
     }
 
     // Method to create and return an instance of AuthenticationManager, used to validate the user's credentials during the sign-in process
@@ -39,11 +53,14 @@ public class SecurityConfig {
                         .requestMatchers( // Endpoints available to any user
                                 "/api-docs/**",
                                 "/api-docs-ui/**",
-                                "/api/auth/signin"
+                                "/api/auth/signin",
+                                "/actuator/health"
                         ).permitAll()
+                        .requestMatchers(prometheusScrape()).permitAll() // Prometheus cannot renew a JWT, it scrapes on the internal management port instead
                         .requestMatchers( // Endpoints available to admin users
                                 "/api/auth/signup",
-                                "/api/user"
+                                "/api/user",
+                                "/actuator/**"
                         ).hasRole("ADMIN")
                         .requestMatchers( // Endpoints available only to common users
                                 "/api/product"
@@ -54,9 +71,20 @@ public class SecurityConfig {
                 .build();
     }
 
-    // Method return an instance of BCryptPasswordEncoder, used to encrypt passwords
+    // Method matches the metrics scrape only when it arrives on a management port of its own, which is meant to be reachable from inside the network only
+    private RequestMatcher prometheusScrape() {
+        RequestMatcher path = new AntPathRequestMatcher("/actuator/prometheus", HttpMethod.GET.name());
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        return request -> separatePort && request.getLocalPort() == managementPort && path.matches(request);
+    }
+
+    // Method return an instance of BCryptPasswordEncoder, used to encrypt passwords, running on its own bounded pool
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.password-hashing.threads:0}") int threads,
+                                           @Value("${api.security.password-hashing.queue-capacity:50}") int queueCapacity,
+                                           @Value("${api.security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2); // Leaves half the CPUs to everything else
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, retryAfter, meterRegistry);
     }
 }
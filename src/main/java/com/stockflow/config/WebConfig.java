@@ -1,8 +1,18 @@
 package com.stockflow.config;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.stockflow.serialization.converter.YamlJackson2HttpMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -11,10 +21,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private static final MediaType MEDIA_TYPE_APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+    private static final MediaType MEDIA_TYPE_APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+    private static final MediaType MEDIA_TYPE_APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
 
     @Value("${cors.originPatterns:default}")
     private String corsOriginPatterns = "http://localhost:3000,http://localhost:8080,https://gustavoglins.com";
 
+    @Value("${api.async.request-timeout:3600000}")
+    private long asyncRequestTimeout; // Streaming exports run as async requests, the container default (30s) would cut them off
+
     // ---------------- CORS Config ----------------
     @Override
     public void addCorsMappings(CorsRegistry registry){
@@ -36,6 +51,36 @@ public class WebConfig implements WebMvcConfigurer {
             .defaultContentType(MediaType.APPLICATION_JSON) // Set default content type as JSON
                 .mediaType("json", MediaType.APPLICATION_JSON) // Define JSON as a supported media type
                 .mediaType("xml", MediaType.APPLICATION_XML) // Define XML as a supported media type
-                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML); // Define YAML as a supported media type
+                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML) // Define YAML as a supported media type
+                .mediaType("x-ndjson", MEDIA_TYPE_APPLICATION_NDJSON) // Define NDJSON as a supported media type (streaming exports)
+                .mediaType("cbor", MediaType.APPLICATION_CBOR) // Define CBOR as a supported media type (compact binary JSON)
+                .mediaType("x-jackson-smile", MEDIA_TYPE_APPLICATION_SMILE); // Define Smile as a supported media type (compact binary JSON)
 }
+
+    // ---------------- YAML Message Converter ----------------
+    // Registered as a bean so Boot adds it to the converter list, with the same Java time handling as JSON
+    @Bean
+    public YamlJackson2HttpMessageConverter yamlHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new YamlJackson2HttpMessageConverter(builder.factory(new YAMLFactory())
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build());
+    }
+
+    // ---------------- Binary Message Converters ----------------
+    // Built from Boot's Jackson builder, so CBOR and Smile follow the same spring.jackson.* settings as JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // ---------------- Async Support Config ----------------
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout); // Time allowed for streaming responses to finish writing
+    }
 }
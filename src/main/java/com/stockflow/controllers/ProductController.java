@@ -1,9 +1,23 @@
 package com.stockflow.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.cache.ProductResponseCache;
+import com.stockflow.dto.productDtos.ProductBulkResponseDTO;
+import com.stockflow.dto.productDtos.ProductChangeEventDTO;
 import com.stockflow.dto.productDtos.ProductRequestDTO;
 import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.dto.productDtos.ProductSearchResponseDTO;
+import com.stockflow.dto.productDtos.StockAdjustmentRequestDTO;
+import com.stockflow.dto.productDtos.StockAdjustmentResponseDTO;
+import com.stockflow.events.ProductChangeFeed;
+import com.stockflow.model.ledger.StockMovementReason;
+import com.stockflow.serialization.MediaTypeNegotiator;
+import com.stockflow.serialization.writer.CollectionWriterFactory;
+import com.stockflow.serialization.writer.NdjsonWriter;
 import com.stockflow.services.ProductService;
 import com.stockflow.util.CustomMediaType;
+import com.stockflow.versioning.ProductCatalogVersion;
+import com.stockflow.versioning.ProductETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,29 +25,62 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping(value = "/api/product")
 @Tag(name = "Product Management", description = "Endpoints for managing products, including creating, updating, retrieving, and deleting product information.")
 public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    private static final int MAX_SEARCH_SIZE = 100;
     private final ProductService service;
+    private final ObjectMapper objectMapper;
+    private final CollectionWriterFactory collectionWriterFactory;
+    private final ProductCatalogVersion catalogVersion;
+    private final MediaTypeNegotiator mediaTypeNegotiator;
+    private final ProductResponseCache responseCache;
+    private final ProductChangeFeed changeFeed;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service,
+                             ObjectMapper objectMapper,
+                             CollectionWriterFactory collectionWriterFactory,
+                             ProductCatalogVersion catalogVersion,
+                             MediaTypeNegotiator mediaTypeNegotiator,
+                             ProductResponseCache responseCache,
+                             ProductChangeFeed changeFeed) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.collectionWriterFactory = collectionWriterFactory;
+        this.catalogVersion = catalogVersion;
+        this.mediaTypeNegotiator = mediaTypeNegotiator;
+        this.responseCache = responseCache;
+        this.changeFeed = changeFeed;
     }
 
-    @PostMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML},
-                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @PostMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Create a new product",
             description = "Create a new product",
@@ -46,15 +93,39 @@ public class ProductController {
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
             }
     )
-    public ResponseEntity<ProductResponseDTO> create(@RequestBody @Valid ProductRequestDTO productRequestDTO) {
+    public ResponseEntity<ProductResponseDTO> create(@RequestBody @Valid ProductRequestDTO productRequestDTO, HttpServletRequest request) {
         logger.info("Received request to create a new product.");
         ProductResponseDTO createdProduct = service.create(productRequestDTO);
         logger.info("Request to create a new product processed successfully.");
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ProductETags.of(createdProduct, mediaTypeNegotiator.negotiate(request), false))
+                .lastModified(createdProduct.updatedAt())
+                .body(createdProduct);
+    }
+
+    @PostMapping(value = "/bulk",
+                 consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
+    @Operation(
+            summary = "Create or update products in bulk",
+            description = "Create products without ID and update products with ID, written in JDBC batches. Each item is validated on its own and rejected items are reported by their index in the request.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ProductBulkResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ProductBulkResponseDTO> bulk(@RequestBody List<ProductRequestDTO> productRequestDTOList) {
+        logger.info("Received request to write {} products in bulk.", productRequestDTOList.size());
+        ProductBulkResponseDTO bulkResult = service.bulkUpsert(productRequestDTOList);
+        logger.info("Request to write products in bulk processed successfully. Failed products: {}", bulkResult.failed());
+        return ResponseEntity.ok(bulkResult);
     }
 
-    @PutMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML},
-                produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @PutMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Update a product",
             description = "Update a product",
@@ -65,40 +136,85 @@ public class ProductController {
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
                     @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content()),
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
             }
     )
-    public ResponseEntity<ProductResponseDTO> update(@RequestBody @Valid ProductRequestDTO productRequestDTO) {
+    public ResponseEntity<ProductResponseDTO> update(@RequestBody @Valid ProductRequestDTO productRequestDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag of the product version being replaced, the update fails with 412 when the product changed since.") String ifMatch,
+                                                     HttpServletRequest request) {
         logger.info("Received request to update a product.");
-        ProductResponseDTO updatedProduct = service.update(productRequestDTO);
+        ProductResponseDTO updatedProduct = service.update(productRequestDTO, ProductETags.expectedVersion(ifMatch, productRequestDTO.id()));
         logger.info("Request to update product with ID: {} processed successfully.", productRequestDTO.id());
-        return ResponseEntity.ok(updatedProduct);
+        return ResponseEntity.ok()
+                .eTag(ProductETags.of(updatedProduct, mediaTypeNegotiator.negotiate(request), false))
+                .lastModified(updatedProduct.updatedAt())
+                .body(updatedProduct);
     }
 
-    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @PostMapping(value = "/{id}/stock",
+                 consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
+    @Operation(
+            summary = "Adjust the stock of a product",
+            description = "Atomically add a signed delta to the product quantity and return the new quantity. The adjustment is rejected when it would take the stock below zero.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = StockAdjustmentResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<StockAdjustmentResponseDTO> adjustStock(@PathVariable("id") @Parameter(description = "The ID of the product to be adjusted.") Long id,
+                                                                  @RequestBody @Valid StockAdjustmentRequestDTO stockAdjustmentRequestDTO) {
+        logger.info("Received request to adjust stock of product with ID: {}.", id);
+        StockAdjustmentResponseDTO adjustedStock = service.adjustStock(id, stockAdjustmentRequestDTO.delta(), StockMovementReason.ADJUSTED);
+        logger.info("Request to adjust stock of product with ID: {} processed successfully.", id);
+        return ResponseEntity.ok(adjustedStock);
+    }
+
+    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Find a product by ID",
             description = "Find a product by ID",
             tags = {"Product Management"},
             responses = {
                     @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ProductRequestDTO.class))),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content()),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
             }
     )
-    public ResponseEntity<ProductResponseDTO> findById(@PathVariable("id") @Parameter(description = "The ID of the product to be found.") Long id) {
+    public ResponseEntity<byte[]> findById(@PathVariable("id") @Parameter(description = "The ID of the product to be found.") Long id,
+                                           HttpServletRequest request,
+                                           WebRequest webRequest) {
         logger.info("Received request to find product by id.");
         ProductResponseDTO foundProduct = service.findById(id);
+        MediaType mediaType = mediaTypeNegotiator.negotiate(request);
+        ProductResponseCache.Encoded encodedProduct = responseCache.get(foundProduct, mediaType, acceptsGzip(request)); // Hot products are written as cached bytes
+        // Tagged after encoding, a body under the gzip minimum size is sent plain and must carry the plain tag
+        if (webRequest.checkNotModified(ProductETags.of(foundProduct, mediaType, encodedProduct.gzipped()), foundProduct.updatedAt().toEpochMilli())) { // Also sets ETag and Last-Modified on the response
+            logger.info("Request to find product with ID: {} answered with not modified.", id);
+            return notModified(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        }
+
         logger.info("Request to find product with ID: {} processed successfully.", id);
-        return ResponseEntity.ok(foundProduct);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (encodedProduct.gzipped()) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(encodedProduct.body());
     }
 
-    @GetMapping(produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @GetMapping(params = "all=true", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "List all products registered",
-            description = "List all products registered",
+            description = "List every product registered at once, ignoring pagination. Products are written as rows are read from the database.",
             tags = {"Product Management"},
             responses = {
                     @ApiResponse(description = "Ok", responseCode = "200",
@@ -107,15 +223,132 @@ public class ProductController {
                                     array = @ArraySchema(schema = @Schema(implementation = ProductRequestDTO.class))
                             )
                     ),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content()),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
             }
     )
-    public ResponseEntity<List<ProductResponseDTO>> listAll() {
+    public ResponseEntity<StreamingResponseBody> listAll(@RequestParam("all") @Parameter(description = "List every product registered, ignoring pagination.") boolean all,
+                                                         HttpServletRequest request,
+                                                         WebRequest webRequest) {
         logger.info("Received request to list all products registered.");
-        List<ProductResponseDTO> productRequestDTOList = service.listAll();
-        logger.info("Request to list all products processed successfully. Total products: {}", productRequestDTOList.size());
-        return ResponseEntity.ok(productRequestDTOList);
+        if (catalogNotModified(request, webRequest)) {
+            logger.info("Request to list all products answered with not modified.");
+            return notModified(HttpHeaders.ACCEPT);
+        }
+        return collectionWriterFactory.stream(request, writer -> {
+            long listed = service.listAll(writer::write);
+            logger.info("Request to list all products processed successfully. Total products: {}", listed);
+        });
+    }
+
+    @GetMapping(produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
+    @Operation(
+            summary = "List products registered",
+            description = "List products ordered by ID using cursor-based pagination. The next page is advertised in the Link header (rel=\"next\"). Use all=true to list every product at once.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = ProductRequestDTO.class))
+                            )
+                    ),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
+            }
+    )
+    public ResponseEntity<List<ProductResponseDTO>> listPage(@RequestParam(value = "after", required = false) @Parameter(description = "Return only products with an ID greater than this cursor.") Long after,
+                                                             @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_LIMIT) @Parameter(description = "Maximum number of products in the page (1 to " + MAX_PAGE_LIMIT + ").") int limit,
+                                                             HttpServletRequest request,
+                                                             WebRequest webRequest) {
+        logger.info("Received request to list products after ID: {}.", after);
+        if (catalogNotModified(request, webRequest)) {
+            logger.info("Request to list products after ID: {} answered with not modified.", after);
+            return notModified(HttpHeaders.ACCEPT);
+        }
+        int pageLimit = Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+        List<ProductResponseDTO> productPage = service.listPage(after, pageLimit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (productPage.size() == pageLimit) { // A full page means there may be more products after the last ID
+            Long nextCursor = productPage.get(productPage.size() - 1).id();
+            Link next = linkTo(methodOn(ProductController.class).listPage(nextCursor, pageLimit, null, null)).withRel(IanaLinkRelations.NEXT);
+            response.header(HttpHeaders.LINK, next.toString());
+        }
+
+        logger.info("Request to list products processed successfully. Total products in page: {}", productPage.size());
+        return response.body(productPage);
+    }
+
+    @GetMapping(value = "/search", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
+    @Operation(
+            summary = "Search products",
+            description = "Search products whose name or description has words starting with every word of the query, ignoring case and accents. Name matches and whole-word matches rank first.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ProductSearchResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
+            }
+    )
+    public ResponseEntity<ProductSearchResponseDTO> search(@RequestParam("q") @Parameter(description = "The words to search for.") String query,
+                                                           @RequestParam(value = "page", defaultValue = "0") @Parameter(description = "The page of results, starting at 0.") int page,
+                                                           @RequestParam(value = "size", defaultValue = "" + DEFAULT_SEARCH_SIZE) @Parameter(description = "Number of products per page (1 to " + MAX_SEARCH_SIZE + ").") int size) {
+        logger.info("Received request to search products.");
+        ProductSearchResponseDTO searchResult = service.search(query, Math.max(0, page), Math.max(1, Math.min(size, MAX_SEARCH_SIZE)));
+        logger.info("Request to search products processed successfully. Total products found: {}", searchResult.total());
+        return ResponseEntity.ok(searchResult);
+    }
+
+    @GetMapping(produces = CustomMediaType.APPLICATION_NDJSON)
+    @Operation(
+            summary = "Export all products registered",
+            description = "Stream every product registered as newline-delimited JSON, one product per line, written as rows are read from the database.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(
+                            mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = ProductResponseDTO.class)
+                    )),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> export() {
+        logger.info("Received request to export all products registered.");
+        StreamingResponseBody body = outputStream -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream)) {
+                service.streamAll(writer::write);
+                logger.info("Request to export all products processed successfully. Total products: {}", writer.getWritten());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(CustomMediaType.APPLICATION_NDJSON))
+                .body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = CustomMediaType.TEXT_EVENT_STREAM)
+    @Operation(
+            summary = "Subscribe to product changes",
+            description = "Server-Sent Events stream of committed product changes (created, updated, deleted events carrying the latest state of the product). " +
+                    "Bursts of changes to one product are coalesced, a resync event asks the client to reload the catalog after it fell too far behind.",
+            tags = {"Product Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(
+                            mediaType = "text/event-stream",
+                            schema = @Schema(implementation = ProductChangeEventDTO.class)
+                    )),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
+            }
+    )
+    public SseEmitter subscribeToChanges() {
+        logger.info("Received request to subscribe to product changes.");
+        return changeFeed.subscribe();
     }
 
     @DeleteMapping(value = "/{id}", produces = CustomMediaType.TEXT_PLAIN)
@@ -138,4 +371,29 @@ public class ProductController {
         logger.info("Request to delete product with ID: {} processed successfully.", id);
         return ResponseEntity.ok("Product with ID: " + id + " deleted successfully.");
     }
+
+    // Method compares the client's validators with the catalog version, which is read before any row so a concurrent write can only make the tag older
+    private boolean catalogNotModified(HttpServletRequest request, WebRequest webRequest) {
+        ProductCatalogVersion.Snapshot catalog = catalogVersion.current();
+        if (!catalogVersion.isSettled(catalog)) return false; // Replicas may still serve older rows, so no validators are sent until they have caught up
+        return webRequest.checkNotModified(ProductETags.of(catalog, mediaTypeNegotiator.negotiate(request)), catalog.updatedAt().toEpochMilli()); // Also sets ETag and Last-Modified on the response
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?"); // gzip;q=0 means "never gzip"
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String... varyBy) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .varyBy(varyBy) // Same Vary as the 200, the tag is per representation
+                .build();
+    }
 }
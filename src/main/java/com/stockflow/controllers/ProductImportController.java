@@ -0,0 +1,126 @@
+package com.stockflow.controllers;
+
+import com.stockflow.dto.importDtos.ProductImportErrorResponseDTO;
+import com.stockflow.dto.importDtos.ProductImportResponseDTO;
+import com.stockflow.services.ProductImportService;
+import com.stockflow.util.CustomMediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/api/product/imports")
+@Tag(name = "Product Imports", description = "Endpoints for importing products from CSV files in the background, following their progress and resuming failed imports.")
+public class ProductImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportController.class);
+    private static final int MAX_PAGE_LIMIT = 500;
+    private final ProductImportService service;
+
+    public ProductImportController(ProductImportService service) {
+        this.service = service;
+    }
+
+    @PostMapping(consumes = {CustomMediaType.TEXT_CSV, "application/octet-stream"},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Import products from a CSV file",
+            description = "Upload a UTF-8 CSV file as the request body. The header names the columns name, description, price, quantity and optionally reorderThreshold, in any order. " +
+                    "Rows are validated like POST /api/product and upserted by name in the background, follow the import with the returned Location.",
+            tags = {"Product Imports"},
+            responses = {
+                    @ApiResponse(description = "Accepted", responseCode = "202", content = @Content(schema = @Schema(implementation = ProductImportResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ProductImportResponseDTO> start(@RequestParam(value = "fileName", required = false) @Parameter(description = "Name of the file, shown in the import's status.") String fileName,
+                                                          HttpServletRequest request) throws IOException {
+        logger.info("Received request to import products from a CSV file.");
+        ProductImportResponseDTO productImport = service.start(request.getInputStream(), fileName);
+        logger.info("Request to import products processed successfully, import ID: {}.", productImport.id());
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(productImport.id()).toUri())
+                .body(productImport);
+    }
+
+    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Find a product import by ID",
+            description = "Status and progress of an import, counters are updated after each committed batch.",
+            tags = {"Product Imports"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ProductImportResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ProductImportResponseDTO> findById(@PathVariable("id") @Parameter(description = "The ID of the import.") UUID id) {
+        logger.info("Received request to find product import with ID: {}.", id);
+        ProductImportResponseDTO productImport = service.findById(id);
+        logger.info("Request to find product import with ID: {} processed successfully.", id);
+        return ResponseEntity.ok(productImport);
+    }
+
+    @GetMapping(value = "/{id}/errors", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "List rejected rows of a product import",
+            description = "List the rows an import rejected and why, in file order. Pass the last row received as after to read the next page.",
+            tags = {"Product Imports"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = ProductImportErrorResponseDTO.class))
+                            )
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<List<ProductImportErrorResponseDTO>> listErrors(@PathVariable("id") @Parameter(description = "The ID of the import.") UUID id,
+                                                                          @RequestParam(value = "after", required = false) @Parameter(description = "Return only rows after this row number.") Long after,
+                                                                          @RequestParam(value = "limit", defaultValue = "100") @Parameter(description = "Maximum number of rows in the page (1 to " + MAX_PAGE_LIMIT + ").") int limit) {
+        logger.info("Received request to list errors of product import with ID: {}.", id);
+        List<ProductImportErrorResponseDTO> errors = service.listErrors(id, after, Math.max(1, Math.min(limit, MAX_PAGE_LIMIT)));
+        logger.info("Request to list errors of product import with ID: {} processed successfully. Total errors in page: {}", id, errors.size());
+        return ResponseEntity.ok(errors);
+    }
+
+    @PostMapping(value = "/{id}/resume", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Resume a failed product import",
+            description = "Run a failed import again from its last checkpoint, rows already committed are not read again.",
+            tags = {"Product Imports"},
+            responses = {
+                    @ApiResponse(description = "Accepted", responseCode = "202", content = @Content(schema = @Schema(implementation = ProductImportResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ProductImportResponseDTO> resume(@PathVariable("id") @Parameter(description = "The ID of the import to be resumed.") UUID id) {
+        logger.info("Received request to resume product import with ID: {}.", id);
+        ProductImportResponseDTO productImport = service.resume(id);
+        logger.info("Request to resume product import with ID: {} processed successfully.", id);
+        return ResponseEntity.accepted().body(productImport);
+    }
+}
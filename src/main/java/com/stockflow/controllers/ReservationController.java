@@ -0,0 +1,134 @@
+package com.stockflow.controllers;
+
+import com.stockflow.dto.reservationDtos.ReservationRequestDTO;
+import com.stockflow.dto.reservationDtos.ReservationResponseDTO;
+import com.stockflow.dto.reservationDtos.StockAvailabilityResponseDTO;
+import com.stockflow.services.ReservationService;
+import com.stockflow.util.CustomMediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/api/reservation")
+@Tag(name = "Reservation Management", description = "Endpoints for holding stock during checkout, including creating, committing, releasing holds and checking available stock.")
+public class ReservationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
+    private final ReservationService service;
+
+    public ReservationController(ReservationService service) {
+        this.service = service;
+    }
+
+    @PostMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Hold stock of a product",
+            description = "Reserve units of a product for a limited time. Held units are not available to other holds until the reservation is committed, released or expires.",
+            tags = {"Reservation Management"},
+            responses = {
+                    @ApiResponse(description = "Created", responseCode = "201", content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ReservationResponseDTO> hold(@RequestBody @Valid ReservationRequestDTO reservationRequestDTO) {
+        logger.info("Received request to hold stock of product with ID: {}.", reservationRequestDTO.productId());
+        ReservationResponseDTO createdReservation = service.hold(reservationRequestDTO);
+        logger.info("Request to hold stock processed successfully.");
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
+    }
+
+    @PostMapping(value = "/{id}/commit", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Commit a reservation",
+            description = "Turn an active hold into a stock decrement of the product.",
+            tags = {"Reservation Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ReservationResponseDTO> commit(@PathVariable("id") @Parameter(description = "The ID of the reservation to be committed.") UUID id) {
+        logger.info("Received request to commit reservation with ID: {}.", id);
+        ReservationResponseDTO committedReservation = service.commit(id);
+        logger.info("Request to commit reservation with ID: {} processed successfully.", id);
+        return ResponseEntity.ok(committedReservation);
+    }
+
+    @PostMapping(value = "/{id}/release", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Release a reservation",
+            description = "Give the units of an active hold back to the available stock.",
+            tags = {"Reservation Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ReservationResponseDTO> release(@PathVariable("id") @Parameter(description = "The ID of the reservation to be released.") UUID id) {
+        logger.info("Received request to release reservation with ID: {}.", id);
+        ReservationResponseDTO releasedReservation = service.release(id);
+        logger.info("Request to release reservation with ID: {} processed successfully.", id);
+        return ResponseEntity.ok(releasedReservation);
+    }
+
+    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Find a reservation by ID",
+            description = "Find a reservation by ID",
+            tags = {"Reservation Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<ReservationResponseDTO> findById(@PathVariable("id") @Parameter(description = "The ID of the reservation to be found.") UUID id) {
+        logger.info("Received request to find reservation with ID: {}.", id);
+        ReservationResponseDTO foundReservation = service.findById(id);
+        logger.info("Request to find reservation with ID: {} processed successfully.", id);
+        return ResponseEntity.ok(foundReservation);
+    }
+
+    @GetMapping(value = "/availability/{productId}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Find the available stock of a product",
+            description = "Return the product quantity, the units held by active reservations and the units still available.",
+            tags = {"Reservation Management"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = StockAvailabilityResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<StockAvailabilityResponseDTO> availability(@PathVariable("productId") @Parameter(description = "The ID of the product.") Long productId) {
+        logger.info("Received request to find available stock of product with ID: {}.", productId);
+        StockAvailabilityResponseDTO availability = service.availability(productId);
+        logger.info("Request to find available stock of product with ID: {} processed successfully.", productId);
+        return ResponseEntity.ok(availability);
+    }
+}
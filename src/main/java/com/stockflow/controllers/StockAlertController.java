@@ -0,0 +1,80 @@
+package com.stockflow.controllers;
+
+import com.stockflow.dto.alertDtos.LowStockResponseDTO;
+import com.stockflow.dto.alertDtos.StockAlertResponseDTO;
+import com.stockflow.services.StockAlertService;
+import com.stockflow.util.CustomMediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/stock-alerts")
+@Tag(name = "Stock Alerts", description = "Endpoints for reading the products at or near their reorder threshold and the stock alerts raised for them.")
+public class StockAlertController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertController.class);
+    private static final int MAX_PAGE_LIMIT = 500;
+    private final StockAlertService service;
+
+    public StockAlertController(StockAlertService service) {
+        this.service = service;
+    }
+
+    @GetMapping(value = "/low-stock", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "List products with low stock",
+            description = "List products at or below their reorder threshold, lowest quantity relative to the threshold first. Served from memory, the database is not queried.",
+            tags = {"Stock Alerts"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = LowStockResponseDTO.class))
+                            )
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<List<LowStockResponseDTO>> listLowStock(@RequestParam(value = "includeNear", defaultValue = "false") @Parameter(description = "Also list products close to, but still above, their threshold.") boolean includeNear,
+                                                                  @RequestParam(value = "limit", defaultValue = "100") @Parameter(description = "Maximum number of products returned (1 to " + MAX_PAGE_LIMIT + ").") int limit) {
+        logger.info("Received request to list products with low stock.");
+        List<LowStockResponseDTO> lowStock = service.listLowStock(includeNear, Math.max(1, Math.min(limit, MAX_PAGE_LIMIT)));
+        logger.info("Request to list products with low stock processed successfully. Total products: {}", lowStock.size());
+        return ResponseEntity.ok(lowStock);
+    }
+
+    @GetMapping(value = "/recent", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "List recent stock alerts",
+            description = "List the most recent stock alerts (low stock, out of stock, restocked), newest first.",
+            tags = {"Stock Alerts"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = StockAlertResponseDTO.class))
+                            )
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<List<StockAlertResponseDTO>> listRecentAlerts(@RequestParam(value = "limit", defaultValue = "50") @Parameter(description = "Maximum number of alerts returned (1 to " + MAX_PAGE_LIMIT + ").") int limit) {
+        logger.info("Received request to list recent stock alerts.");
+        List<StockAlertResponseDTO> alerts = service.listRecentAlerts(Math.max(1, Math.min(limit, MAX_PAGE_LIMIT)));
+        logger.info("Request to list recent stock alerts processed successfully. Total alerts: {}", alerts.size());
+        return ResponseEntity.ok(alerts);
+    }
+}
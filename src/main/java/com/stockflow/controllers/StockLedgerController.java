@@ -0,0 +1,79 @@
+package com.stockflow.controllers;
+
+import com.stockflow.dto.ledgerDtos.StockLevelResponseDTO;
+import com.stockflow.dto.ledgerDtos.StockMovementResponseDTO;
+import com.stockflow.services.StockLedgerService;
+import com.stockflow.util.CustomMediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/stock-ledger")
+@Tag(name = "Stock Ledger", description = "Endpoints for reading the history of stock movements and the stock of a product at a point in time.")
+public class StockLedgerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerController.class);
+    private static final int MAX_PAGE_LIMIT = 500;
+    private final StockLedgerService service;
+
+    public StockLedgerController(StockLedgerService service) {
+        this.service = service;
+    }
+
+    @GetMapping(value = "/{productId}/movements", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "List stock movements of a product",
+            description = "List stock movements of a product, most recent first. Pass the ID of the last movement received as before to read the next page.",
+            tags = {"Stock Ledger"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = StockMovementResponseDTO.class))
+                            )
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<List<StockMovementResponseDTO>> listMovements(@PathVariable("productId") @Parameter(description = "The ID of the product.") Long productId,
+                                                                        @RequestParam(value = "before", required = false) @Parameter(description = "Return only movements with an ID lower than this cursor.") Long before,
+                                                                        @RequestParam(value = "limit", defaultValue = "50") @Parameter(description = "Maximum number of movements in the page (1 to " + MAX_PAGE_LIMIT + ").") int limit) {
+        logger.info("Received request to list stock movements of product with ID: {}.", productId);
+        List<StockMovementResponseDTO> movements = service.listMovements(productId, before, Math.max(1, Math.min(limit, MAX_PAGE_LIMIT)));
+        logger.info("Request to list stock movements processed successfully. Total movements: {}", movements.size());
+        return ResponseEntity.ok(movements);
+    }
+
+    @GetMapping(value = "/{productId}/quantity", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Find the stock of a product at a point in time",
+            description = "Rebuild the stock of a product from the ledger as of the given instant (ISO-8601), starting from the closest snapshot.",
+            tags = {"Stock Ledger"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = StockLevelResponseDTO.class))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content()),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<StockLevelResponseDTO> quantityAsOf(@PathVariable("productId") @Parameter(description = "The ID of the product.") Long productId,
+                                                              @RequestParam(value = "asOf", required = false) @Parameter(description = "The instant to compute the stock at, defaults to now.") Instant asOf) {
+        logger.info("Received request to find stock of product with ID: {} as of {}.", productId, asOf);
+        StockLevelResponseDTO stockLevel = service.quantityAsOf(productId, asOf != null ? asOf : Instant.now());
+        logger.info("Request to find stock of product with ID: {} processed successfully.", productId);
+        return ResponseEntity.ok(stockLevel);
+    }
+}
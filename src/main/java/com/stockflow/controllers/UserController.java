@@ -2,6 +2,7 @@ package com.stockflow.controllers;
 
 import com.stockflow.dto.userDtos.UserRequestDTO;
 import com.stockflow.dto.userDtos.UserResponseDTO;
+import com.stockflow.serialization.writer.CollectionWriterFactory;
 import com.stockflow.services.UserService;
 import com.stockflow.util.CustomMediaType;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,14 +12,15 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -28,13 +30,15 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     private final UserService service;
+    private final CollectionWriterFactory collectionWriterFactory;
 
-    public UserController(UserService service) {
+    public UserController(UserService service, CollectionWriterFactory collectionWriterFactory) {
         this.service = service;
+        this.collectionWriterFactory = collectionWriterFactory;
     }
 
-    @PostMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML},
-                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @PostMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                 produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Create a new user",
             description = "Create a new User",
@@ -54,8 +58,8 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
-    @PutMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML},
-                produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @PutMapping(consumes = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE},
+                produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Update an user",
             description = "Update an user",
@@ -76,7 +80,7 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
-    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @GetMapping(value = "/{id}", produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "Find an user by ID",
             description = "Find an user by ID",
@@ -96,7 +100,7 @@ public class UserController {
         return ResponseEntity.ok(foundUser);
     }
 
-    @GetMapping(produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @GetMapping(produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML, CustomMediaType.APPLICATION_CBOR, CustomMediaType.APPLICATION_SMILE})
     @Operation(
             summary = "List all users registered",
             description = "List all users registered",
@@ -112,11 +116,12 @@ public class UserController {
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content()),
             }
     )
-    public ResponseEntity<List<UserResponseDTO>> listAll() {
+    public ResponseEntity<StreamingResponseBody> listAll(HttpServletRequest request) {
         logger.info("Receive request to list all users registered.");
-        List<UserResponseDTO> userRequestDTOList = service.listAll();
-        logger.info("Request to list all users processed successfully. Total users returned: {}.", userRequestDTOList.size());
-        return ResponseEntity.ok(userRequestDTOList);
+        return collectionWriterFactory.stream(request, writer -> { // Users are written as rows are read from the database
+            long listed = service.listAll(writer::write);
+            logger.info("Request to list all users processed successfully. Total users returned: {}.", listed);
+        });
     }
 
     @DeleteMapping(value = "/{id}", produces = CustomMediaType.TEXT_PLAIN)
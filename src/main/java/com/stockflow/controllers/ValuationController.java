@@ -0,0 +1,45 @@
+package com.stockflow.controllers;
+
+import com.stockflow.dto.valuationDtos.InventoryValuationResponseDTO;
+import com.stockflow.services.ValuationService;
+import com.stockflow.util.CustomMediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/valuation")
+@Tag(name = "Inventory Valuation", description = "Endpoints for reading aggregates of the whole catalog, such as total units and total stock value.")
+public class ValuationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValuationController.class);
+    private final ValuationService service;
+
+    public ValuationController(ValuationService service) {
+        this.service = service;
+    }
+
+    @GetMapping(produces = {CustomMediaType.APPLICATION_JSON, CustomMediaType.APPLICATION_XML, CustomMediaType.APPLICATION_YAML})
+    @Operation(
+            summary = "Find the inventory valuation",
+            description = "Total products, units and stock value (price times quantity), products out of stock and products per price band. Served from running totals, reconciled with the database periodically.",
+            tags = {"Inventory Valuation"},
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200", content = @Content(schema = @Schema(implementation = InventoryValuationResponseDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content()),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content())
+            }
+    )
+    public ResponseEntity<InventoryValuationResponseDTO> current() {
+        logger.info("Received request to find the inventory valuation.");
+        InventoryValuationResponseDTO valuation = service.current();
+        logger.info("Request to find the inventory valuation processed successfully.");
+        return ResponseEntity.ok(valuation);
+    }
+}
@@ -0,0 +1,27 @@
+package com.stockflow.datasource;
+
+import java.util.function.Supplier;
+
+public class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    // Method runs a read on the primary even inside a read-only transaction, for reads that must not see replica lag (e.g. filling a cache)
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) PRIMARY_FORCED.remove();
+            else PRIMARY_FORCED.set(previous);
+        }
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
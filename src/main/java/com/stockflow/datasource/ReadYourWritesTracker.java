@@ -0,0 +1,42 @@
+package com.stockflow.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockflow.util.TransactionHooks;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+// Remembers which users wrote recently, so their reads stay on the primary until the replicas have caught up with their own writes
+public class ReadYourWritesTracker {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.enabled = !window.isZero() && !window.isNegative();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(enabled ? window : Duration.ofNanos(1))
+                .build();
+    }
+
+    // Method marks the current user as a writer now and again when the transaction commits, so a long transaction does not shorten the window
+    public void recordWrite() {
+        String user = currentUser();
+        if (!enabled || user == null) return;
+        recentWriters.put(user, Boolean.TRUE);
+        TransactionHooks.afterCommit(() -> recentWriters.put(user, Boolean.TRUE));
+    }
+
+    public boolean wroteRecently() {
+        String user = currentUser();
+        return enabled && user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
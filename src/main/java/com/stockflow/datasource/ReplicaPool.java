@@ -0,0 +1,121 @@
+package com.stockflow.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DataSource for read-only transactions: spreads connections over the healthy replicas and falls back to the primary when none can serve
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final String LAG_QUERY = "select coalesce(case when pg_is_in_recovery() and pg_last_wal_receive_lsn() <> pg_last_wal_replay_lsn() " +
+            "then extract(epoch from now() - pg_last_xact_replay_timestamp()) end, 0)"; // 0 when the replica has replayed everything it received
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(DataSource primary, List<HikariDataSource> replicaDataSources, ReadYourWritesTracker tracker, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaDataSources.stream().map(Replica::new).toList();
+        this.tracker = tracker;
+        this.maxLag = maxLag;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, Replica::lagSeconds)
+                    .description("Replication lag of the replica, as of the last health check")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, candidate -> candidate.healthy ? 1 : 0)
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || DataSourceRouting.isPrimaryForced() || tracker.wroteRecently()) return primary.getConnection();
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size()); // Round robin, skipping replicas marked down
+        for (int offset = 0; offset < replicas.size(); offset++) {
+            Replica replica = replicas.get((start + offset) % replicas.size());
+            if (!replica.healthy) continue;
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException exception) {
+                replica.markDown(exception.getMessage()); // Until the next health check brings it back
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(); // Credentials are set per pool
+    }
+
+    // Method checks every replica is reachable and not lagging more than the allowed staleness
+    @Scheduled(fixedDelayString = "${api.datasource.replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+                if (replica.lagSeconds * 1000 > maxLag.toMillis()) {
+                    replica.markDown("lagging " + replica.lagSeconds + "s behind the primary");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException exception) {
+                replica.markDown(exception.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        double lagSeconds() {
+            return lagSeconds;
+        }
+
+        void markDown(String reason) {
+            if (healthy) logger.warn("Read replica {} taken out of rotation: {}", dataSource.getPoolName(), reason);
+            healthy = false;
+        }
+
+        void markUp() {
+            if (!healthy) logger.info("Read replica {} back in rotation.", dataSource.getPoolName());
+            healthy = true;
+        }
+    }
+}
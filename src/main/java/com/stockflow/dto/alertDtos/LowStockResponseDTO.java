@@ -0,0 +1,31 @@
+package com.stockflow.dto.alertDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.alerting.StockAlertEngine;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"productId", "quantity", "reorderThreshold", "belowThreshold"})
+public record LowStockResponseDTO(
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("quantity")
+        Long quantity,
+
+        @JsonProperty("reorderThreshold")
+        Long reorderThreshold,
+
+        @JsonProperty("belowThreshold")
+        boolean belowThreshold) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public LowStockResponseDTO(StockAlertEngine.StockLevel level) {
+        this(level.productId(), level.quantity(), level.reorderThreshold(), level.isLow());
+    }
+}
@@ -0,0 +1,36 @@
+package com.stockflow.dto.alertDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.alerting.StockAlert;
+import com.stockflow.alerting.StockAlertType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@JsonPropertyOrder({"type", "productId", "quantity", "reorderThreshold", "raisedAt"})
+public record StockAlertResponseDTO(
+
+        @JsonProperty("type")
+        StockAlertType type,
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("quantity")
+        Long quantity,
+
+        @JsonProperty("reorderThreshold")
+        Long reorderThreshold,
+
+        @JsonProperty("raisedAt")
+        Instant raisedAt) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public StockAlertResponseDTO(StockAlert alert) {
+        this(alert.type(), alert.productId(), alert.quantity(), alert.reorderThreshold(), alert.raisedAt());
+    }
+}
@@ -0,0 +1,25 @@
+package com.stockflow.dto.importDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.model.imports.ProductImportError;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"row", "message"})
+public record ProductImportErrorResponseDTO(
+
+        @JsonProperty("row")
+        Long row,
+
+        @JsonProperty("message")
+        String message) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ProductImportErrorResponseDTO(ProductImportError error) {
+        this(error.getRowNumber(), error.getMessage());
+    }
+}
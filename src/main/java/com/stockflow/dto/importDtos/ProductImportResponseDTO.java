@@ -0,0 +1,68 @@
+package com.stockflow.dto.importDtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.model.imports.ProductImport;
+import com.stockflow.model.imports.ProductImportStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonPropertyOrder({"id", "fileName", "status", "node", "fileSize", "bytesProcessed", "rowsRead", "created", "updated", "rejected", "errorMessage", "createdAt", "startedAt", "finishedAt"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportResponseDTO(
+
+        @JsonProperty("id")
+        UUID id,
+
+        @JsonProperty("fileName")
+        String fileName,
+
+        @JsonProperty("status")
+        ProductImportStatus status,
+
+        @JsonProperty("node") // Node holding the file, the one that runs and resumes the import
+        String node,
+
+        @JsonProperty("fileSize")
+        Long fileSize,
+
+        @JsonProperty("bytesProcessed") // Up to the last committed batch, the progress is bytesProcessed / fileSize
+        Long bytesProcessed,
+
+        @JsonProperty("rowsRead")
+        Long rowsRead,
+
+        @JsonProperty("created")
+        Long created,
+
+        @JsonProperty("updated")
+        Long updated,
+
+        @JsonProperty("rejected")
+        Long rejected,
+
+        @JsonProperty("errorMessage")
+        String errorMessage,
+
+        @JsonProperty("createdAt")
+        Instant createdAt,
+
+        @JsonProperty("startedAt")
+        Instant startedAt,
+
+        @JsonProperty("finishedAt")
+        Instant finishedAt) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ProductImportResponseDTO(ProductImport productImport) {
+        this(productImport.getId(), productImport.getFileName(), productImport.getStatus(), productImport.getOwnerNode(), productImport.getFileSize(), productImport.getCheckpointOffset(),
+                productImport.getRowsRead(), productImport.getCreated(), productImport.getUpdated(), productImport.getRejected(), productImport.getErrorMessage(),
+                productImport.getCreatedAt(), productImport.getStartedAt(), productImport.getFinishedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.stockflow.dto.ledgerDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@JsonPropertyOrder({"productId", "quantity", "asOf"})
+public record StockLevelResponseDTO(
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("quantity")
+        Long quantity,
+
+        @JsonProperty("asOf")
+        Instant asOf) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,39 @@
+package com.stockflow.dto.ledgerDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.model.ledger.StockMovement;
+import com.stockflow.model.ledger.StockMovementReason;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@JsonPropertyOrder({"id", "productId", "delta", "reason", "username", "createdAt"})
+public record StockMovementResponseDTO(
+
+        @JsonProperty("id")
+        Long id,
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("delta")
+        Long delta,
+
+        @JsonProperty("reason")
+        StockMovementReason reason,
+
+        @JsonProperty("username")
+        String username,
+
+        @JsonProperty("createdAt")
+        Instant createdAt) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public StockMovementResponseDTO(StockMovement movement) {
+        this(movement.getId(), movement.getProductId(), movement.getDelta(), movement.getReason(), movement.getUsername(), movement.getCreatedAt());
+    }
+}
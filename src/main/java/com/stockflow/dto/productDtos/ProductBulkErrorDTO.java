@@ -0,0 +1,23 @@
+package com.stockflow.dto.productDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"index", "name", "message"})
+public record ProductBulkErrorDTO(
+
+        @JsonProperty("index")
+        int index,
+
+        @JsonProperty("name")
+        String name,
+
+        @JsonProperty("message")
+        String message) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,30 @@
+package com.stockflow.dto.productDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@JsonPropertyOrder({"received", "created", "updated", "failed", "errors"})
+public record ProductBulkResponseDTO(
+
+        @JsonProperty("received")
+        int received,
+
+        @JsonProperty("created")
+        int created,
+
+        @JsonProperty("updated")
+        int updated,
+
+        @JsonProperty("failed")
+        int failed,
+
+        @JsonProperty("errors")
+        List<ProductBulkErrorDTO> errors) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,29 @@
+package com.stockflow.dto.productDtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.events.ProductChangeType;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"type", "productId", "version", "product"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductChangeEventDTO(
+
+        @JsonProperty("type")
+        ProductChangeType type,
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("version")
+        long version,
+
+        @JsonProperty("product") // Latest state of the product, absent for deletions
+        ProductResponseDTO product) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -4,6 +4,7 @@ import com.stockflow.model.product.Product;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.hateoas.Links;
 
 import java.io.Serial;
@@ -14,9 +15,11 @@ public record ProductRequestDTO(
         Long id,
 
         @NotBlank(message = "Product name cannot be blank or empty")
+        @Size(message = "Product name cannot be longer than 100 characters", max = 100) // Column length, longer names failed on insert
         String name,
 
         @NotBlank(message = "Product description cannot be blank or empty")
+        @Size(message = "Product description cannot be longer than 255 characters", max = 255)
         String description,
 
         @Min(message = "Product price must be greater than or equal to 0", value = 0)
@@ -26,6 +29,9 @@ public record ProductRequestDTO(
         @Min(message = "The product quantity must be greater than or equal to 0", value = 0)
         Long quantity,
 
+        @Min(message = "The product reorder threshold must be greater than or equal to 0", value = 0)
+        Long reorderThreshold, // Optional, a stock alert is raised when the quantity falls to it
+
         Links links) implements Serializable {
 
     @Serial
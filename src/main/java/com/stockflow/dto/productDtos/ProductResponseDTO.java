@@ -1,14 +1,17 @@
 package com.stockflow.dto.productDtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.hateoas.LinkTemplate;
 import com.stockflow.model.product.Product;
 import org.springframework.hateoas.Links;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Instant;
 
-@JsonPropertyOrder({"id", "name", "description", "price", "quantity", "link"})
+@JsonPropertyOrder({"id", "name", "description", "price", "quantity", "reorderThreshold", "link"})
 public record ProductResponseDTO(
 
         @JsonProperty("id")
@@ -26,13 +29,32 @@ public record ProductResponseDTO(
         @JsonProperty("quantity")
         Long quantity,
 
-        @JsonProperty("links")
-        Links links) implements Serializable {
+        @JsonProperty("reorderThreshold")
+        Long reorderThreshold,
+
+        @JsonIgnore // Sent as the ETag header
+        long version,
+
+        @JsonIgnore // Sent as the Last-Modified header
+        Instant updatedAt,
+
+        @JsonIgnore
+        LinkTemplate selfLink) implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     public ProductResponseDTO(Product product) {
-        this(product.getId(), product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(), product.getLinks());
+        this(product.getId(), product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(), product.getReorderThreshold(), product.getVersion(), product.getUpdatedAt(), null);
+    }
+
+    public ProductResponseDTO withSelfLink(LinkTemplate selfLink) {
+        return new ProductResponseDTO(id, name, description, price, quantity, reorderThreshold, version, updatedAt, selfLink);
+    }
+
+    // Expanded only when the response is written
+    @JsonProperty("links")
+    public Links links() {
+        return selfLink != null ? selfLink.selfLinks(id) : Links.NONE;
     }
-}
\ No newline at end of file
+}
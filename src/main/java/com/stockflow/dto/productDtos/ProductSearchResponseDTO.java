@@ -0,0 +1,33 @@
+package com.stockflow.dto.productDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@JsonPropertyOrder({"query", "page", "size", "total", "truncated", "products"})
+public record ProductSearchResponseDTO(
+
+        @JsonProperty("query")
+        String query,
+
+        @JsonProperty("page")
+        int page,
+
+        @JsonProperty("size")
+        int size,
+
+        @JsonProperty("total")
+        long total,
+
+        @JsonProperty("truncated")
+        boolean truncated,
+
+        @JsonProperty("products")
+        List<ProductResponseDTO> products) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,15 @@
+package com.stockflow.dto.productDtos;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public record StockAdjustmentRequestDTO(
+
+        @NotNull(message = "Stock delta cannot be empty")
+        Long delta) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,20 @@
+package com.stockflow.dto.productDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"id", "quantity"})
+public record StockAdjustmentResponseDTO(
+
+        @JsonProperty("id")
+        Long id,
+
+        @JsonProperty("quantity")
+        Long quantity) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,23 @@
+package com.stockflow.dto.reservationDtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public record ReservationRequestDTO(
+
+        @NotNull(message = "Product ID cannot be empty")
+        Long productId,
+
+        @NotNull(message = "The reserved quantity must be greater than 0")
+        @Min(message = "The reserved quantity must be greater than 0", value = 1)
+        Long quantity,
+
+        @Min(message = "The hold duration must be at least 1 second", value = 1)
+        Long holdSeconds) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
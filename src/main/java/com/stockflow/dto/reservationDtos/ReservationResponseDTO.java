@@ -0,0 +1,44 @@
+package com.stockflow.dto.reservationDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.model.reservation.ReservationStatus;
+import com.stockflow.model.reservation.StockReservation;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonPropertyOrder({"id", "productId", "quantity", "status", "createdAt", "expiresAt"})
+public record ReservationResponseDTO(
+
+        @JsonProperty("id")
+        UUID id,
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("quantity")
+        Long quantity,
+
+        @JsonProperty("status")
+        ReservationStatus status,
+
+        @JsonProperty("createdAt")
+        Instant createdAt,
+
+        @JsonProperty("expiresAt")
+        Instant expiresAt) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ReservationResponseDTO(StockReservation reservation) {
+        this(reservation.getId(), reservation.getProductId(), reservation.getQuantity(), reservation.getStatus(), reservation.getCreatedAt(), reservation.getExpiresAt());
+    }
+
+    public ReservationResponseDTO withStatus(ReservationStatus status) {
+        return new ReservationResponseDTO(id, productId, quantity, status, createdAt, expiresAt);
+    }
+}
@@ -0,0 +1,26 @@
+package com.stockflow.dto.reservationDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@JsonPropertyOrder({"productId", "quantity", "reserved", "available"})
+public record StockAvailabilityResponseDTO(
+
+        @JsonProperty("productId")
+        Long productId,
+
+        @JsonProperty("quantity")
+        Long quantity,
+
+        @JsonProperty("reserved")
+        Long reserved,
+
+        @JsonProperty("available")
+        Long available) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
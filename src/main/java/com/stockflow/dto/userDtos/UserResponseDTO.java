@@ -1,7 +1,9 @@
 package com.stockflow.dto.userDtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockflow.hateoas.LinkTemplate;
 import com.stockflow.model.user.User;
 import com.stockflow.model.user.UserRole;
 import org.springframework.hateoas.Links;
@@ -22,13 +24,23 @@ public record UserResponseDTO(
         @JsonProperty("role")
         UserRole role,
 
-        @JsonProperty("links")
-        Links links) implements Serializable {
+        @JsonIgnore
+        LinkTemplate selfLink) implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     public UserResponseDTO(User user) {
-        this(user.getId(), user.getLogin(), user.getRole(), user.getLinks());
+        this(user.getId(), user.getLogin(), user.getRole(), null);
+    }
+
+    public UserResponseDTO withSelfLink(LinkTemplate selfLink) {
+        return new UserResponseDTO(id, login, role, selfLink);
+    }
+
+    // Expanded only when the response is written
+    @JsonProperty("links")
+    public Links links() {
+        return selfLink != null ? selfLink.selfLinks(id) : Links.NONE;
     }
 }
@@ -0,0 +1,35 @@
+package com.stockflow.dto.valuationDtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@JsonPropertyOrder({"products", "totalUnits", "totalValue", "zeroStock", "priceBands", "reconciledAt"})
+public record InventoryValuationResponseDTO(
+
+        @JsonProperty("products")
+        Long products,
+
+        @JsonProperty("totalUnits")
+        Long totalUnits,
+
+        @JsonProperty("totalValue")
+        BigDecimal totalValue,
+
+        @JsonProperty("zeroStock")
+        Long zeroStock,
+
+        @JsonProperty("priceBands")
+        List<PriceBandResponseDTO> priceBands,
+
+        @JsonProperty("reconciledAt")
+        Instant reconciledAt) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
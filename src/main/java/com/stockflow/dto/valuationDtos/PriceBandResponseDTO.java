@@ -0,0 +1,26 @@
+package com.stockflow.dto.valuationDtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@JsonPropertyOrder({"minPrice", "maxPrice", "products"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PriceBandResponseDTO(
+
+        @JsonProperty("minPrice") // Inclusive, absent for the lowest band
+        BigDecimal minPrice,
+
+        @JsonProperty("maxPrice") // Exclusive, absent for the highest band
+        BigDecimal maxPrice,
+
+        @JsonProperty("products")
+        Long products) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
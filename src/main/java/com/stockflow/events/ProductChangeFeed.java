@@ -0,0 +1,287 @@
+package com.stockflow.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.cache.ProductCache;
+import com.stockflow.dto.productDtos.ProductChangeEventDTO;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.exceptions.ChangeFeedUnavailableException;
+import com.stockflow.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Pushes committed product changes to Server-Sent Events subscribers, writers only pay for a queue offer
+@Component
+public class ProductChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeFeed.class);
+    private static final int FAN_OUT_BATCH_SIZE = 1000;
+    private final ObjectMapper objectMapper;
+    private final ProductCache productCache;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration reconnectDelay;
+    private final BlockingQueue<ProductChange> queue;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter resyncCounter;
+
+    // Each busy subscriber is drained by its own virtual thread, so a slow client only blocks itself (idle ones hold no thread at all)
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean resyncAll;
+    private volatile boolean running = true;
+    private Thread fanOut;
+
+    public ProductChangeFeed(ObjectMapper objectMapper,
+                             ProductCache productCache,
+                             MeterRegistry meterRegistry,
+                             @Value("${api.events.product.queue-capacity:10000}") int queueCapacity,
+                             @Value("${api.events.product.buffer-size:256}") int bufferSize,
+                             @Value("${api.events.product.max-subscribers:50000}") int maxSubscribers,
+                             @Value("${api.events.product.timeout:30m}") Duration timeout,
+                             @Value("${api.events.product.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.objectMapper = objectMapper;
+        this.productCache = productCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.reconnectDelay = reconnectDelay;
+        meterRegistry.gaugeCollectionSize("product.changes.subscribers", Tags.empty(), subscribers);
+        this.resyncCounter = Counter.builder("product.changes.resyncs")
+                .description("Subscribers told to reload the catalog because their buffer overflowed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        fanOut = Thread.ofPlatform().name("product-change-fan-out").daemon().start(this::fanOut);
+    }
+
+    // Method registers a new subscriber, the connection stays open until the client leaves or the timeout ends it (clients reconnect on their own)
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ChangeFeedUnavailableException("Product change feed is at its limit of " + maxSubscribers + " subscribers, try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(exception -> subscribers.remove(subscriber));
+        try {
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(reconnectDelay.toMillis())); // Commits the headers right away
+        } catch (IOException exception) {
+            emitter.completeWithError(exception);
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Queues the change once the surrounding transaction commits (immediate when there is no transaction), product is null to send the cached state
+    public void publishAfterCommit(ProductChangeType type, Long productId, long version, ProductResponseDTO product) {
+        TransactionHooks.afterCommit(() -> publish(new ProductChange(type, productId, version, product)));
+    }
+
+    private void publish(ProductChange change) {
+        if (subscribers.isEmpty()) return;
+        if (!queue.offer(change)) { // Never blocks a writer, subscribers are told to reload instead
+            logger.warn("Product change queue is full, subscribers will be told to reload the catalog.");
+            resyncAll = true;
+        }
+    }
+
+    private void fanOut() {
+        List<ProductChange> batch = new ArrayList<>(FAN_OUT_BATCH_SIZE);
+        while (running) {
+            try {
+                ProductChange first = queue.poll(1, TimeUnit.SECONDS);
+                if (resyncAll) {
+                    resyncAll = false;
+                    queue.clear();
+                    subscribers.forEach(subscriber -> subscriber.signal(Subscriber::markResync));
+                    continue;
+                }
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, FAN_OUT_BATCH_SIZE - 1);
+
+                Map<Long, ProductChange> latestById = new LinkedHashMap<>(); // A burst on one product is encoded once
+                batch.forEach(change -> latestById.merge(change.productId(), change, (previous, next) -> next.version() >= previous.version() ? next : previous));
+                for (ProductChange change : latestById.values()) {
+                    EncodedChange encoded = encode(change);
+                    if (encoded != null) subscribers.forEach(subscriber -> subscriber.signal(target -> target.offer(encoded)));
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                logger.error("Failed to fan out product changes: {}", exception.getMessage(), exception);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Method serializes a change once for every subscriber, loading the product when the writer did not have it (stock adjustments)
+    private EncodedChange encode(ProductChange change) {
+        ProductResponseDTO product = change.product();
+        if (product == null && change.type() != ProductChangeType.DELETED) {
+            Optional<ProductResponseDTO> cachedProduct = productCache.findById(change.productId());
+            if (cachedProduct.isPresent() && cachedProduct.get().version() < change.version()) { // A load that raced with the commit cached the old row
+                productCache.invalidate(change.productId());
+                cachedProduct = productCache.findById(change.productId());
+            }
+            if (cachedProduct.isEmpty()) return null; // Deleted meanwhile, its own event follows
+            product = cachedProduct.get();
+        }
+        try {
+            String data = objectMapper.writeValueAsString(new ProductChangeEventDTO(change.type(), change.productId(), change.version(), product));
+            return new EncodedChange(change.productId(), change.version(), change.type().name().toLowerCase(), data);
+        } catch (JsonProcessingException exception) {
+            logger.error("Failed to serialize change of product with ID: {}: {}", change.productId(), exception.getMessage());
+            return null;
+        }
+    }
+
+    // Method keeps idle connections alive through proxies and finds the clients that left without closing
+    @Scheduled(fixedDelayString = "${api.events.product.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.signal(Subscriber::markHeartbeat));
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Subscriber.Pending pending;
+            while ((pending = subscriber.takePending()) != null) {
+                if (pending.resync()) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON)); // Reload the catalog, changes were dropped
+                }
+                for (EncodedChange change : pending.changes()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(change.productId() + "." + change.version())
+                            .name(change.name())
+                            .data(change.data(), MediaType.APPLICATION_JSON));
+                }
+                if (pending.heartbeat() && pending.changes().isEmpty() && !pending.resync()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                }
+            }
+        } catch (IOException | IllegalStateException exception) { // Client gone or emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(exception);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        fanOut.join(TimeUnit.SECONDS.toMillis(5));
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        drainExecutor.shutdown();
+    }
+
+    private record ProductChange(ProductChangeType type, Long productId, long version, ProductResponseDTO product) {
+    }
+
+    private record EncodedChange(Long productId, long version, String name, String data) {
+    }
+
+    // One connection, with its changes coalesced by product: a client that reads slowly gets the latest state of each product, not every step
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock(); // Not synchronized, the drain runs on a virtual thread
+        private Map<Long, EncodedChange> changes = new LinkedHashMap<>();
+        private boolean resync;
+        private boolean heartbeat;
+        private boolean draining;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Method applies a change to the pending state and starts a drain unless one is already running
+        private void signal(Consumer<Subscriber> mutation) {
+            boolean startDrain;
+            lock.lock();
+            try {
+                mutation.accept(this);
+                startDrain = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (startDrain) drainExecutor.execute(() -> drain(this));
+        }
+
+        private void offer(EncodedChange change) {
+            EncodedChange previous = changes.get(change.productId());
+            if (previous != null) {
+                if (change.version() >= previous.version()) changes.put(change.productId(), change); // Replaced in place, keeps its position
+            } else if (changes.size() >= bufferSize) { // Too far behind, a reload is cheaper than the backlog
+                markResync();
+                resyncCounter.increment();
+            } else {
+                changes.put(change.productId(), change);
+            }
+        }
+
+        private void markResync() {
+            changes = new LinkedHashMap<>(); // Everything pending is part of the reload
+            resync = true;
+        }
+
+        private void markHeartbeat() {
+            heartbeat = true;
+        }
+
+        // Returns what is pending and resets it, or null (ending the drain) when there is nothing left
+        private Pending takePending() {
+            lock.lock();
+            try {
+                if (changes.isEmpty() && !resync && !heartbeat) {
+                    draining = false;
+                    return null;
+                }
+                Pending pending = new Pending(List.copyOf(changes.values()), resync, heartbeat);
+                changes = new LinkedHashMap<>();
+                resync = false;
+                heartbeat = false;
+                return pending;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private record Pending(List<EncodedChange> changes, boolean resync, boolean heartbeat) {
+        }
+    }
+}
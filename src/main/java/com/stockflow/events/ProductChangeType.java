@@ -0,0 +1,5 @@
+package com.stockflow.events;
+
+public enum ProductChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,12 @@
+package com.stockflow.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ChangeFeedUnavailableException extends RuntimeException {
+
+    public ChangeFeedUnavailableException(String message) {
+        super(message);
+    }
+}
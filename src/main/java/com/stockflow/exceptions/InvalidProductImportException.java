@@ -0,0 +1,11 @@
+package com.stockflow.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidProductImportException extends RuntimeException {
+    public InvalidProductImportException(String message) {
+        super(message);
+    }
+}
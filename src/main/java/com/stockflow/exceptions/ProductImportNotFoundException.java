@@ -0,0 +1,11 @@
+package com.stockflow.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductImportNotFoundException extends RuntimeException {
+    public ProductImportNotFoundException(String message) {
+        super(message);
+    }
+}
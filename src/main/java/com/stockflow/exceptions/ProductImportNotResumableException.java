@@ -0,0 +1,11 @@
+package com.stockflow.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ProductImportNotResumableException extends RuntimeException {
+    public ProductImportNotResumableException(String message) {
+        super(message);
+    }
+}
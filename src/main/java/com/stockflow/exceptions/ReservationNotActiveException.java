@@ -0,0 +1,11 @@
+package com.stockflow.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReservationNotActiveException extends RuntimeException {
+    public ReservationNotActiveException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,24 @@
 package com.stockflow.exceptions.handler;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.stockflow.exceptions.ChangeFeedUnavailableException;
+import com.stockflow.exceptions.InsufficientStockException;
+import com.stockflow.exceptions.InvalidProductImportException;
+import com.stockflow.exceptions.PasswordHashingRejectedException;
+import com.stockflow.exceptions.ProductImportNotFoundException;
+import com.stockflow.exceptions.ProductImportNotResumableException;
 import com.stockflow.exceptions.ProductNotFoundException;
+import com.stockflow.exceptions.ProductVersionMismatchException;
+import com.stockflow.exceptions.ReservationNotActiveException;
+import com.stockflow.exceptions.ReservationNotFoundException;
 import com.stockflow.exceptions.UserNotFoundException;
 import com.stockflow.exceptions.reponse.ExceptionResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.web.authentication.session.SessionAuthenticationException;
@@ -73,7 +84,7 @@ public class GlobalExceptionHandler {
     // -------------------------------------------- User Exceptions ----------------------------------------------------
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ExceptionResponse> handleUserNotFoundExceptions(UserNotFoundException exception, WebRequest request) {
-        logger.error("UserNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        logger.warn("UserNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
         return buildResponse(exception, HttpStatus.NOT_FOUND, request);
     }
     // ------------------------------------------ User Exceptions End --------------------------------------------------
@@ -82,12 +93,77 @@ public class GlobalExceptionHandler {
     // ------------------------------------------- Product Exceptions --------------------------------------------------
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<ExceptionResponse> handleProductNotFoundExceptions(ProductNotFoundException exception, WebRequest request) {
-        logger.error("ProductNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        logger.warn("ProductNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
         return buildResponse(exception, HttpStatus.NOT_FOUND, request);
     }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ExceptionResponse> handleInsufficientStockExceptions(InsufficientStockException exception, WebRequest request) {
+        logger.warn("InsufficientStockException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ResponseEntity<ExceptionResponse> handleProductVersionMismatchExceptions(ProductVersionMismatchException exception, WebRequest request) {
+        logger.warn("ProductVersionMismatchException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureExceptions(ObjectOptimisticLockingFailureException exception, WebRequest request) {
+        logger.warn("ObjectOptimisticLockingFailureException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                "The resource was modified concurrently, reload it and try again.",
+                request.getDescription(false),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exceptionResponse);
+    }
+
+    @ExceptionHandler(ChangeFeedUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handleChangeFeedUnavailableExceptions(ChangeFeedUnavailableException exception, WebRequest request) {
+        logger.warn("ChangeFeedUnavailableException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
     // ------------------------------------------ Product Exceptions End -----------------------------------------------
 
 
+    // --------------------------------------------- Import Exceptions -------------------------------------------------
+    @ExceptionHandler(ProductImportNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleProductImportNotFoundExceptions(ProductImportNotFoundException exception, WebRequest request) {
+        logger.warn("ProductImportNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(ProductImportNotResumableException.class)
+    public ResponseEntity<ExceptionResponse> handleProductImportNotResumableExceptions(ProductImportNotResumableException exception, WebRequest request) {
+        logger.warn("ProductImportNotResumableException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(InvalidProductImportException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidProductImportExceptions(InvalidProductImportException exception, WebRequest request) {
+        logger.warn("InvalidProductImportException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.BAD_REQUEST, request);
+    }
+    // ------------------------------------------- Import Exceptions End -----------------------------------------------
+
+
+    // ----------------------------------------- Reservation Exceptions ------------------------------------------------
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleReservationNotFoundExceptions(ReservationNotFoundException exception, WebRequest request) {
+        logger.warn("ReservationNotFoundException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(ReservationNotActiveException.class)
+    public ResponseEntity<ExceptionResponse> handleReservationNotActiveExceptions(ReservationNotActiveException exception, WebRequest request) {
+        logger.warn("ReservationNotActiveException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        return buildResponse(exception, HttpStatus.CONFLICT, request);
+    }
+    // --------------------------------------- Reservation Exceptions End ----------------------------------------------
+
+
     // --------------------------------------------- Security Exceptions -----------------------------------------------
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ExceptionResponse> handleBadCredentialsExceptions(BadCredentialsException exception, WebRequest request) {
@@ -112,6 +188,19 @@ public class GlobalExceptionHandler {
         logger.error("SessionAuthenticationException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
         return buildResponse(exception, HttpStatus.FORBIDDEN, request);
     }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ExceptionResponse> handlePasswordHashingRejectedExceptions(PasswordHashingRejectedException exception, WebRequest request) {
+        logger.warn("PasswordHashingRejectedException: {} - Request: {}", exception.getMessage(), request.getDescription(false));
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                exception.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(exceptionResponse);
+    }
     // ------------------------------------------- Security Exceptions End ---------------------------------------------
 
 
@@ -0,0 +1,16 @@
+package com.stockflow.hateoas;
+
+import com.stockflow.controllers.ProductController;
+import com.stockflow.controllers.UserController;
+
+// Link templates of the endpoints the API responses point to, resolved once at class loading
+public final class ControllerLinks {
+
+    public static final LinkTemplate PRODUCTS = LinkTemplate.of(ProductController.class);
+    public static final LinkTemplate PRODUCT = LinkTemplate.of(ProductController.class, "findById");
+    public static final LinkTemplate USERS = LinkTemplate.of(UserController.class);
+    public static final LinkTemplate USER = LinkTemplate.of(UserController.class, "findById");
+
+    private ControllerLinks() {
+    }
+}
@@ -0,0 +1,63 @@
+package com.stockflow.hateoas;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+// Path of a controller endpoint, read once from its mapping annotations and expanded per ID with string concatenation
+public record LinkTemplate(String path) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final String ID_VARIABLE = "{id}";
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".baseUri";
+
+    // Template of the controller's base mapping (e.g. /api/product)
+    public static LinkTemplate of(Class<?> controller) {
+        return new LinkTemplate(mappingPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class)));
+    }
+
+    // Template of one controller method mapping (e.g. /api/product/{id})
+    public static LinkTemplate of(Class<?> controller, String methodName) {
+        Method method = Arrays.stream(controller.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No method " + methodName + " in " + controller.getName()));
+        return new LinkTemplate(of(controller).path() + mappingPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class)));
+    }
+
+    public Links selfLinks(Object id) {
+        return Links.of(Link.of(currentBaseUri() + expand(id)).withSelfRel());
+    }
+
+    private String expand(Object id) {
+        int index = path.indexOf(ID_VARIABLE);
+        if (index < 0) return path;
+        return path.substring(0, index) + id + path.substring(index + ID_VARIABLE.length());
+    }
+
+    // Method builds the scheme, host and context path once per request, the same base linkTo would use
+    public static String currentBaseUri() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) return ""; // Outside a request the link is relative, as with linkTo
+        String baseUri = (String) requestAttributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            requestAttributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    private static String mappingPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+}
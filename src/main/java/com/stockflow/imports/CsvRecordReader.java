@@ -0,0 +1,134 @@
+package com.stockflow.imports;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Reads RFC 4180 CSV records (quoted fields, "" escapes, line breaks inside quotes) straight from a FileChannel, tracking the byte offset of each record
+public class CsvRecordReader {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    public static final int DEFAULT_MAX_FIELD_BYTES = 64 * 1024;
+    public static final int DEFAULT_MAX_RECORD_BYTES = 1024 * 1024;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int maxFieldBytes;
+    private final int maxRecordBytes;
+    private long bufferOffset; // File offset of the buffer's first byte
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private long recordStart;
+
+    public CsvRecordReader(FileChannel channel, long offset) throws IOException {
+        this(channel, offset, DEFAULT_MAX_FIELD_BYTES, DEFAULT_MAX_RECORD_BYTES);
+    }
+
+    // The limits keep a stray quote (which swallows the rest of the file into one field) or a binary upload from growing a field without bound
+    public CsvRecordReader(FileChannel channel, long offset, int maxFieldBytes, int maxRecordBytes) throws IOException {
+        this.channel = channel;
+        this.maxFieldBytes = maxFieldBytes;
+        this.maxRecordBytes = maxRecordBytes;
+        this.channel.position(offset);
+        this.bufferOffset = offset;
+        this.buffer.flip(); // Empty until the first read
+    }
+
+    // Byte offset right after the last record returned, where a resumed reader starts
+    public long position() {
+        return bufferOffset + buffer.position();
+    }
+
+    // Returns the fields of the next record, or null at the end of the file (blank lines are skipped).
+    // A record that cannot be read throws MalformedCsvRecordException after the reader resyncs to the line following the record's start,
+    // so one bad record (e.g. a stray quote) does not take the rest of the file with it.
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        boolean inQuotes = false;
+        fieldLength = 0;
+        recordStart = position();
+        int next;
+        while ((next = read()) != -1) {
+            if (position() - recordStart > maxRecordBytes) {
+                throw malformed("The record at byte " + recordStart + " is longer than " + maxRecordBytes + " bytes.");
+            }
+            if (inQuotes) {
+                if (next != '"') {
+                    append(next);
+                } else if (peek() == '"') { // Escaped quote
+                    read();
+                    append('"');
+                } else {
+                    inQuotes = false;
+                }
+            } else if (next == '"' && fieldLength == 0) {
+                inQuotes = true;
+            } else if (next == ',') {
+                fields.add(takeField());
+            } else if (next == '\n') {
+                fields.add(takeField());
+                if (fields.size() == 1 && fields.get(0).isEmpty()) { // Blank line
+                    fields.clear();
+                    recordStart = position();
+                    continue;
+                }
+                return fields;
+            } else if (next != '\r') {
+                append(next);
+            }
+        }
+        if (inQuotes) throw malformed("The quoted field of the record at byte " + recordStart + " is not closed before the end of the file.");
+        if (fields.isEmpty() && fieldLength == 0) return null;
+        fields.add(takeField()); // Last record without a line break
+        return fields;
+    }
+
+    private int read() throws IOException {
+        return fill() ? buffer.get() & 0xFF : -1;
+    }
+
+    private int peek() throws IOException {
+        return fill() ? buffer.get(buffer.position()) & 0xFF : -1;
+    }
+
+    private boolean fill() throws IOException {
+        if (buffer.hasRemaining()) return true;
+        bufferOffset += buffer.limit();
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private void append(int value) throws IOException {
+        if (fieldLength == maxFieldBytes) throw malformed("A field of the record at byte " + recordStart + " is longer than " + maxFieldBytes + " bytes.");
+        if (fieldLength == field.length) field = Arrays.copyOf(field, Math.min(field.length * 2, maxFieldBytes));
+        field[fieldLength++] = (byte) value;
+    }
+
+    // Method moves the reader right after the first line break following the start of the bad record (or to the end of the file)
+    private MalformedCsvRecordException malformed(String message) throws IOException {
+        channel.position(recordStart);
+        bufferOffset = recordStart;
+        buffer.clear().flip(); // Empty, the next read starts at the record
+        int next;
+        do {
+            next = read();
+        } while (next != -1 && next != '\n');
+        fieldLength = 0;
+        return new MalformedCsvRecordException(message);
+    }
+
+    // Fields are decoded only when complete, so multi-byte UTF-8 characters split across buffer reads stay intact
+    private String takeField() {
+        String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        fieldLength = 0;
+        return value;
+    }
+}
@@ -0,0 +1,8 @@
+package com.stockflow.imports;
+
+// A record the reader could not parse, the reader has already moved past it to the next line
+public class MalformedCsvRecordException extends IllegalArgumentException {
+    public MalformedCsvRecordException(String message) {
+        super(message);
+    }
+}
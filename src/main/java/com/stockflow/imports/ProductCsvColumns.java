@@ -0,0 +1,66 @@
+package com.stockflow.imports;
+
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+
+import java.util.List;
+import java.util.Locale;
+
+// Positions of the product fields in a CSV file, taken from its header so the columns can come in any order
+public record ProductCsvColumns(int name, int description, int price, int quantity, int reorderThreshold) {
+
+    private static final int MISSING = -1;
+
+    // Method reads the header row, throwing IllegalArgumentException when a required column is missing
+    public static ProductCsvColumns of(List<String> header) {
+        if (header == null) throw new IllegalArgumentException("The file is empty, a header row is required.");
+        int name = MISSING, description = MISSING, price = MISSING, quantity = MISSING, reorderThreshold = MISSING;
+        for (int index = 0; index < header.size(); index++) {
+            String column = header.get(index).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT); // Drops a UTF-8 byte order mark
+            switch (column) {
+                case "name" -> name = index;
+                case "description" -> description = index;
+                case "price" -> price = index;
+                case "quantity" -> quantity = index;
+                case "reorderthreshold", "reorder_threshold" -> reorderThreshold = index;
+                default -> {
+                }
+            }
+        }
+        if (name == MISSING || description == MISSING || price == MISSING || quantity == MISSING) {
+            throw new IllegalArgumentException("The header must have the columns name, description, price and quantity (reorderThreshold is optional), found: " + header + ".");
+        }
+        return new ProductCsvColumns(name, description, price, quantity, reorderThreshold);
+    }
+
+    // Method converts a record to a request, throwing IllegalArgumentException for values that are not numbers (the rest is left to bean validation)
+    public ProductRequestDTO toRequest(List<String> record) {
+        String priceValue = value(record, price);
+        if (priceValue == null) throw new IllegalArgumentException("price: Product price is required");
+        return new ProductRequestDTO(null, value(record, name), value(record, description), parsePrice(priceValue),
+                parseLong("quantity", value(record, quantity)), parseLong("reorderThreshold", value(record, reorderThreshold)), null);
+    }
+
+    private static String value(List<String> record, int index) {
+        if (index == MISSING || index >= record.size()) return null;
+        String value = record.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double parsePrice(String value) {
+        try {
+            double price = Double.parseDouble(value);
+            if (Double.isFinite(price)) return price;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("price: '" + value + "' is not a number");
+    }
+
+    private static Long parseLong(String column, String value) {
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(column + ": '" + value + "' is not a whole number");
+        }
+    }
+}
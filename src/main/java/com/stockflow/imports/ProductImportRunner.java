@@ -0,0 +1,206 @@
+package com.stockflow.imports;
+
+import com.stockflow.dto.productDtos.ProductBulkResponseDTO;
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+import com.stockflow.model.imports.ProductImport;
+import com.stockflow.model.imports.ProductImportError;
+import com.stockflow.model.imports.ProductImportStatus;
+import com.stockflow.repositories.ProductImportErrorRepository;
+import com.stockflow.repositories.ProductImportRepository;
+import com.stockflow.services.ProductService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Runs CSV imports in the background, committing each batch of products together with the job's checkpoint
+@Component
+public class ProductImportRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportRunner.class);
+    private final ProductImportRepository repository;
+    private final ProductImportErrorRepository errorRepository;
+    private final ProductService productService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxStoredErrors;
+    private final boolean resumeOnStartup;
+    private final String nodeId;
+    private final ExecutorService executor;
+
+    public ProductImportRunner(ProductImportRepository repository,
+                               ProductImportErrorRepository errorRepository,
+                               ProductService productService,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${api.import.batch-size:5000}") int batchSize,
+                               @Value("${api.import.max-stored-errors:1000}") int maxStoredErrors,
+                               @Value("${api.import.concurrency:1}") int concurrency,
+                               @Value("${api.import.resume-on-startup:true}") boolean resumeOnStartup,
+                               @Value("${api.import.node-id:}") String nodeId) {
+        this.repository = repository;
+        this.errorRepository = errorRepository;
+        this.productService = productService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxStoredErrors = maxStoredErrors;
+        this.resumeOnStartup = resumeOnStartup;
+        this.nodeId = nodeId.isBlank() ? localHostName() : nodeId;
+        this.executor = Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name("product-import-", 0).daemon().factory());
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException exception) {
+            throw new IllegalStateException("Cannot resolve the host name, set api.import.node-id.", exception);
+        }
+    }
+
+    // Name recorded on the imports this node receives, stable across restarts so it finds its own unfinished imports again
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Method picks up the imports a previous run of this node left unfinished, the ones uploaded to other nodes have their files on those nodes' disks
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) return;
+        List<ProductImport> interrupted = repository.findByStatusInAndOwnerNode(List.of(ProductImportStatus.PENDING, ProductImportStatus.RUNNING), nodeId);
+        interrupted.forEach(productImport -> {
+            logger.info("Resuming product import with ID: {} from byte {}.", productImport.getId(), productImport.getCheckpointOffset());
+            repository.transition(productImport.getId(), Set.of(ProductImportStatus.RUNNING), ProductImportStatus.PENDING);
+            submit(productImport.getId());
+        });
+    }
+
+    public void submit(UUID id) {
+        executor.execute(() -> run(id));
+    }
+
+    private void run(UUID id) {
+        if (repository.transition(id, Set.of(ProductImportStatus.PENDING), ProductImportStatus.RUNNING) == 0) return; // Already taken or finished
+        ProductImport productImport = repository.findById(id).orElseThrow();
+        if (productImport.getStartedAt() == null) productImport.setStartedAt(Instant.now());
+        long start = System.nanoTime();
+        logger.info("Running product import with ID: {} ({}).", id, productImport.getFileName());
+
+        try (FileChannel channel = FileChannel.open(Path.of(productImport.getFilePath()), StandardOpenOption.READ)) {
+            CsvRecordReader headerReader = new CsvRecordReader(channel, 0);
+            ProductCsvColumns columns = ProductCsvColumns.of(headerReader.next());
+            long offset = productImport.getCheckpointOffset() > 0 ? productImport.getCheckpointOffset() : headerReader.position();
+            CsvRecordReader reader = new CsvRecordReader(channel, offset);
+
+            long row = productImport.getRowsRead();
+            Map<String, ImportRow> batch = new LinkedHashMap<>(); // By name, a name repeated in the batch keeps its last row (the earlier one counts as updated)
+            List<ProductImportError> errors = new ArrayList<>();
+            int rowsInBatch = 0;
+            while (true) {
+                String error;
+                try {
+                    List<String> record = reader.next();
+                    if (record == null) break;
+                    row++;
+                    error = validate(record, columns, batch, row);
+                } catch (MalformedCsvRecordException exception) { // The reader already moved past it, so the record is rejected like an invalid row
+                    row++;
+                    error = exception.getMessage();
+                }
+                rowsInBatch++;
+                if (error != null) errors.add(new ProductImportError(id, row, error));
+                if (rowsInBatch == batchSize) {
+                    productImport = commit(productImport, batch, errors, rowsInBatch, reader.position(), row);
+                    batch.clear();
+                    errors.clear();
+                    rowsInBatch = 0;
+                }
+            }
+            productImport = commit(productImport, batch, errors, rowsInBatch, reader.position(), row);
+
+            repository.finish(id, ProductImportStatus.COMPLETED, null, Instant.now());
+            Files.deleteIfExists(Path.of(productImport.getFilePath()));
+            logger.info("Product import with ID: {} completed in {} s: {} rows, {} created, {} updated, {} rejected.", id, (System.nanoTime() - start) / 1_000_000_000,
+                    productImport.getRowsRead(), productImport.getCreated(), productImport.getUpdated(), productImport.getRejected());
+        } catch (ClosedByInterruptException exception) {
+            logger.warn("Product import with ID: {} stopped with the application, it resumes from its last checkpoint on the next start.", id);
+        } catch (IOException | RuntimeException exception) {
+            String message = NestedExceptionUtils.getMostSpecificCause(exception).getMessage();
+            logger.error("Product import with ID: {} failed, it can be resumed from its last checkpoint: {}", id, message, exception);
+            repository.finish(id, ProductImportStatus.FAILED, message != null && message.length() > 1000 ? message.substring(0, 1000) : message, Instant.now());
+        }
+    }
+
+    // Method adds a valid row to the batch and returns null, or returns why the row was rejected (same rules as the product endpoints)
+    private String validate(List<String> record, ProductCsvColumns columns, Map<String, ImportRow> batch, long row) {
+        ProductRequestDTO productRequestDTO;
+        try {
+            productRequestDTO = columns.toRequest(record);
+        } catch (IllegalArgumentException exception) {
+            return exception.getMessage();
+        }
+        Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(productRequestDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        batch.remove(productRequestDTO.name()); // Moves a repeated name to its latest position
+        batch.put(productRequestDTO.name(), new ImportRow(row, productRequestDTO));
+        return null;
+    }
+
+    // Method writes a batch and moves the checkpoint in the same transaction, so after a failure no row is lost or written twice
+    private ProductImport commit(ProductImport productImport, Map<String, ImportRow> batch, List<ProductImportError> errors, int rowsInBatch, long offset, long row) {
+        int superseded = rowsInBatch - errors.size() - batch.size(); // Valid rows replaced by a later row with the same name, as if written and then updated by it
+        List<ImportRow> rows = new ArrayList<>(batch.values());
+        return transactionTemplate.execute(status -> {
+            ProductBulkResponseDTO result = rows.isEmpty()
+                    ? new ProductBulkResponseDTO(0, 0, 0, 0, List.of())
+                    : productService.upsertByName(rows.stream().map(ImportRow::product).toList());
+            List<ProductImportError> rejected = new ArrayList<>(errors);
+            result.errors().forEach(error -> rejected.add(new ProductImportError(productImport.getId(), rows.get(error.index()).row(), error.message()))); // e.g. below the held units
+            long storable = Math.max(0, maxStoredErrors - productImport.getRejected());
+            errorRepository.saveAll(rejected.subList(0, (int) Math.min(storable, rejected.size())));
+            productImport.advance(offset, row, result.created(), result.updated() + superseded, rejected.size());
+            return repository.save(productImport);
+        });
+    }
+
+    private record ImportRow(long row, ProductRequestDTO product) {
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow(); // Interrupted imports stay RUNNING and resume from their checkpoint on the next start
+    }
+}
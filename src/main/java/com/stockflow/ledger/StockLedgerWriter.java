@@ -0,0 +1,108 @@
+package com.stockflow.ledger;
+
+import com.stockflow.model.ledger.StockMovement;
+import com.stockflow.model.ledger.StockMovementReason;
+import com.stockflow.repositories.StockMovementRepository;
+import com.stockflow.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Appends stock movements to the ledger from a background thread in batches, so product writes only pay for a queue offer
+@Component
+public class StockLedgerWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerWriter.class);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private final StockMovementRepository repository;
+    private final BlockingQueue<StockMovement> queue;
+    private final int batchSize;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public StockLedgerWriter(StockMovementRepository repository,
+                             @Value("${api.ledger.queue-capacity:100000}") int queueCapacity,
+                             @Value("${api.jpa.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().name("stock-ledger-writer").daemon().start(this::drain);
+    }
+
+    // Method records a stock change made by the current user, it is queued only if the surrounding transaction commits
+    public void record(Long productId, long delta, StockMovementReason reason) {
+        if (delta == 0) return;
+        StockMovement movement = new StockMovement(productId, delta, reason, currentUsername(), Instant.now());
+        TransactionHooks.afterCommit(() -> enqueue(movement));
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    private void enqueue(StockMovement movement) {
+        if (!queue.offer(movement)) { // Backpressure instead of loss: the caller writes its own movement when the writer falls behind
+            logger.warn("Stock ledger queue is full, writing movement for product with ID: {} synchronously.", movement.getProductId());
+            write(List.of(movement));
+        }
+    }
+
+    private void drain() {
+        List<StockMovement> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                StockMovement first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<StockMovement> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                repository.saveAll(batch); // One transaction, inserts sent as a JDBC batch
+                return;
+            } catch (RuntimeException exception) {
+                logger.warn("Failed to write {} stock movements (attempt {} of {}): {}", batch.size(), attempt, MAX_WRITE_ATTEMPTS, exception.getMessage());
+            }
+        }
+        batch.forEach(movement -> logger.error("Stock movement lost: {}", movement)); // Logged in full so it can be replayed
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    // Method stops taking new batches and flushes what is still queued before the repositories shut down
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) logger.error("Stock ledger writer stopped with {} movements still queued.", queue.size());
+    }
+}
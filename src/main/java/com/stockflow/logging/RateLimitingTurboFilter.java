@@ -0,0 +1,75 @@
+package com.stockflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lets at most maxEvents events per logger and message template through per interval, so a flood of the same warning (e.g. not found) costs no I/O
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    // Keyed by logger, then by template, so the hot path neither concatenates nor allocates a key
+    private final Map<Logger, Map<String, Window>> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger templates = new AtomicInteger();
+    private int maxEvents = 100;
+    private long intervalMillis = 1000;
+    private int maxTemplates = 10000;
+    private Level maxLevel = Level.WARN; // Errors are never dropped, they may be the only trace of a lost write
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable throwable) {
+        if (format == null || level == null || level.toInt() > maxLevel.toInt()) return FilterReply.NEUTRAL; // isXxxEnabled() checks carry no template
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) return FilterReply.NEUTRAL; // Dropped by the level anyway, must not use up the budget
+        return window(logger, format).tryAcquire(System.currentTimeMillis(), intervalMillis, maxEvents) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Window window(Logger logger, String format) {
+        Map<String, Window> byFormat = windows.get(logger);
+        Window window = byFormat == null ? null : byFormat.get(format);
+        if (window != null) return window;
+        if (templates.get() >= maxTemplates) { // Templates are constants, this only trips on dynamic messages
+            windows.clear();
+            templates.set(0);
+        }
+        return windows.computeIfAbsent(logger, key -> new ConcurrentHashMap<>()).computeIfAbsent(format, key -> {
+            templates.incrementAndGet();
+            return new Window();
+        });
+    }
+
+    public void setMaxEvents(int maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void setMaxTemplates(int maxTemplates) {
+        this.maxTemplates = maxTemplates;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.WARN);
+    }
+
+    private static final class Window {
+
+        private final AtomicLong start = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now, long intervalMillis, int maxEvents) {
+            long windowStart = start.get();
+            if (now - windowStart >= intervalMillis && start.compareAndSet(windowStart, now)) {
+                count.set(0); // One thread opens the next window, the others just count in it
+            }
+            return count.incrementAndGet() <= maxEvents;
+        }
+    }
+}
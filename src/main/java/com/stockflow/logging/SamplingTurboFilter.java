@@ -0,0 +1,53 @@
+package com.stockflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Keeps only a fraction of the INFO and lower events of chosen loggers, configured as "logger.prefix=rate,..." (e.g. com.stockflow.services=0.1)
+public class SamplingTurboFilter extends TurboFilter {
+
+    private Map<String, Double> ratesByPrefix = Map.of();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable throwable) {
+        if (format == null || level == null || level.toInt() >= Level.WARN_INT || ratesByPrefix.isEmpty()) return FilterReply.NEUTRAL;
+        Double rate = rateOf(logger.getName());
+        if (rate == null || rate >= 1) return FilterReply.NEUTRAL;
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // The longest configured prefix wins, so a package can be sampled differently from its parent
+    private Double rateOf(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Double rate = ratesByPrefix.get(name);
+            if (rate != null) return rate;
+            int separator = name.lastIndexOf('.');
+            if (separator < 0) return null;
+            name = name.substring(0, separator);
+        }
+    }
+
+    public void setRates(String rates) {
+        Map<String, Double> parsed = new TreeMap<>();
+        if (rates != null) {
+            for (String entry : rates.split(",")) {
+                int separator = entry.indexOf('=');
+                if (separator <= 0) continue;
+                try {
+                    parsed.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+                } catch (NumberFormatException exception) {
+                    addWarn("Ignoring sampling rate \"" + entry + "\", the rate is not a number.");
+                }
+            }
+        }
+        this.ratesByPrefix = Map.copyOf(parsed);
+    }
+}
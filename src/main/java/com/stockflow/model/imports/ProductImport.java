@@ -0,0 +1,192 @@
+package com.stockflow.model.imports;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+// A CSV import job, its checkpoint (byte offset and counters) is committed with each batch of products so a failed import resumes where it stopped
+@Entity
+@Table(name = "tb_product_import", indexes = {
+        @Index(name = "idx_product_import_status", columnList = "status")
+})
+public class ProductImport implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private UUID id;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_path", nullable = false, length = 1000)
+    private String filePath;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "owner_node")
+    private String ownerNode; // The file is on this node's disk, only this node can run the import
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ProductImportStatus status;
+
+    @Column(name = "checkpoint_offset", nullable = false)
+    private long checkpointOffset; // Byte offset of the first row not committed yet, 0 until the header was read
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(nullable = false)
+    private long created;
+
+    @Column(nullable = false)
+    private long updated;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public ProductImport() {
+    }
+
+    public ProductImport(UUID id, String fileName, String filePath, long fileSize, String ownerNode, Instant createdAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.ownerNode = ownerNode;
+        this.status = ProductImportStatus.PENDING;
+        this.createdAt = createdAt;
+    }
+
+    // Method moves the checkpoint past a committed batch
+    public void advance(long checkpointOffset, long rowsRead, long created, long updated, long rejected) {
+        this.checkpointOffset = checkpointOffset;
+        this.rowsRead = rowsRead;
+        this.created += created;
+        this.updated += updated;
+        this.rejected += rejected;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public ProductImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProductImportStatus status) {
+        this.status = status;
+    }
+
+    public long getCheckpointOffset() {
+        return checkpointOffset;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductImport{" +
+                "id=" + id +
+                ", fileName='" + fileName + '\'' +
+                ", ownerNode='" + ownerNode + '\'' +
+                ", status=" + status +
+                ", checkpointOffset=" + checkpointOffset +
+                ", rowsRead=" + rowsRead +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", rejected=" + rejected +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductImport that = (ProductImport) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,80 @@
+package com.stockflow.model.imports;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+// A CSV row rejected by an import, only the first rows of each import are kept
+@Entity
+@Table(name = "tb_product_import_error", indexes = {
+        @Index(name = "idx_product_import_error_import_id_row", columnList = "import_id, row_number")
+})
+public class ProductImportError implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_import_error_sequence")
+    @SequenceGenerator(name = "product_import_error_sequence", sequenceName = "tb_product_import_error_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "import_id", nullable = false, updatable = false)
+    private UUID importId;
+
+    @Column(name = "row_number", nullable = false, updatable = false)
+    private Long rowNumber; // Data row in the file, the header not counted
+
+    @Column(nullable = false, updatable = false, length = 1000)
+    private String message;
+
+    public ProductImportError() {
+    }
+
+    public ProductImportError(UUID importId, Long rowNumber, String message) {
+        this.importId = importId;
+        this.rowNumber = rowNumber;
+        this.message = message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getImportId() {
+        return importId;
+    }
+
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductImportError{" +
+                "importId=" + importId +
+                ", rowNumber=" + rowNumber +
+                ", message='" + message + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductImportError that = (ProductImportError) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
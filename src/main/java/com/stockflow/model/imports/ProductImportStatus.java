@@ -0,0 +1,5 @@
+package com.stockflow.model.imports;
+
+public enum ProductImportStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
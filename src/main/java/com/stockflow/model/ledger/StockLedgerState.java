@@ -0,0 +1,57 @@
+package com.stockflow.model.ledger;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+// Single row recording one-time ledger work, so it is not repeated on every startup
+@Entity
+@Table(name = "tb_stock_ledger_state")
+public class StockLedgerState implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "opening_balances_recorded_at", nullable = false)
+    private Instant openingBalancesRecordedAt;
+
+    public StockLedgerState() {
+    }
+
+    public Short getId() {
+        return id;
+    }
+
+    public Instant getOpeningBalancesRecordedAt() {
+        return openingBalancesRecordedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StockLedgerState{" +
+                "id=" + id +
+                ", openingBalancesRecordedAt=" + openingBalancesRecordedAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockLedgerState that = (StockLedgerState) o;
+        return Objects.equals(id, that.id) && Objects.equals(openingBalancesRecordedAt, that.openingBalancesRecordedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, openingBalancesRecordedAt);
+    }
+}
@@ -0,0 +1,110 @@
+package com.stockflow.model.ledger;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+// Append-only record of a stock change, rows are never updated or deleted
+@Entity
+@Table(name = "tb_stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_product_id_created_at", columnList = "product_id, created_at"),
+        @Index(name = "idx_stock_movement_created_at", columnList = "created_at"),
+        @Index(name = "idx_stock_movement_transaction_id", columnList = "transaction_id")
+})
+public class StockMovement implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_sequence")
+    @SequenceGenerator(name = "stock_movement_sequence", sequenceName = "tb_stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Column(nullable = false, updatable = false)
+    private Long delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 25)
+    private StockMovementReason reason;
+
+    @Column(updatable = false, length = 150)
+    private String username;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // ID of the inserting transaction, assigned by the database. Snapshots use it as an insertion cursor, because a movement can be inserted long after its createdAt
+    @Column(name = "transaction_id", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default (pg_current_xact_id()::text::bigint)")
+    private Long transactionId;
+
+    public StockMovement() {
+    }
+
+    public StockMovement(Long productId, Long delta, StockMovementReason reason, String username, Instant createdAt) {
+        this.productId = productId;
+        this.delta = delta;
+        this.reason = reason;
+        this.username = username;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getDelta() {
+        return delta;
+    }
+
+    public StockMovementReason getReason() {
+        return reason;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovement{" +
+                "id=" + id +
+                ", productId=" + productId +
+                ", delta=" + delta +
+                ", reason=" + reason +
+                ", username='" + username + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockMovement that = (StockMovement) o;
+        return Objects.equals(id, that.id) && Objects.equals(productId, that.productId) && Objects.equals(delta, that.delta) && reason == that.reason && Objects.equals(username, that.username) && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, productId, delta, reason, username, createdAt);
+    }
+}
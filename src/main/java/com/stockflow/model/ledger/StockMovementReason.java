@@ -0,0 +1,12 @@
+package com.stockflow.model.ledger;
+
+public enum StockMovementReason {
+
+    OPENING_BALANCE,
+    CREATED,
+    UPDATED,
+    DELETED,
+    ADJUSTED,
+    RESERVATION_COMMITTED,
+    IMPORTED
+}
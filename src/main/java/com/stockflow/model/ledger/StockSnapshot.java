@@ -0,0 +1,90 @@
+package com.stockflow.model.ledger;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+// Stock of a product derived from every movement created up to takenAt and inserted by a transaction below coveredTransactionId, so "as of" queries only replay the rest
+@Entity
+@Table(name = "tb_stock_snapshot", indexes = {
+        @Index(name = "idx_stock_snapshot_product_id_taken_at", columnList = "product_id, taken_at")
+})
+public class StockSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_sequence")
+    @SequenceGenerator(name = "stock_snapshot_sequence", sequenceName = "tb_stock_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Column(nullable = false, updatable = false)
+    private Long quantity;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private Instant takenAt;
+
+    @Column(name = "covered_transaction_id", updatable = false)
+    private Long coveredTransactionId; // Null for snapshots taken before the cursor existed, they cover every movement created up to takenAt
+
+    public StockSnapshot() {
+    }
+
+    public StockSnapshot(Long productId, Long quantity, Instant takenAt, Long coveredTransactionId) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.takenAt = takenAt;
+        this.coveredTransactionId = coveredTransactionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public Long getCoveredTransactionId() {
+        return coveredTransactionId;
+    }
+
+    @Override
+    public String toString() {
+        return "StockSnapshot{" +
+                "id=" + id +
+                ", productId=" + productId +
+                ", quantity=" + quantity +
+                ", takenAt=" + takenAt +
+                ", coveredTransactionId=" + coveredTransactionId +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockSnapshot that = (StockSnapshot) o;
+        return Objects.equals(id, that.id) && Objects.equals(productId, that.productId) && Objects.equals(quantity, that.quantity) && Objects.equals(takenAt, that.takenAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, productId, quantity, takenAt);
+    }
+}
@@ -0,0 +1,63 @@
+package com.stockflow.model.product;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+// One shard of the version of the whole product catalog, the tag of GET /api/product is the sum of every shard
+@Entity
+@Table(name = "tb_product_catalog_version")
+public class CatalogVersion implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Short id;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public CatalogVersion() {
+    }
+
+    public Short getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogVersion{" +
+                "id=" + id +
+                ", version=" + version +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CatalogVersion that = (CatalogVersion) o;
+        return version == that.version && Objects.equals(id, that.id) && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, version, updatedAt);
+    }
+}
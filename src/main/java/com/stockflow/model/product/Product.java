@@ -2,21 +2,22 @@ package com.stockflow.model.product;
 
 import com.stockflow.dto.productDtos.ProductRequestDTO;
 import jakarta.persistence.*;
-import org.springframework.hateoas.RepresentationModel;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.Objects;
 
 @Entity
 @Table(name = "tb_product")
-public class Product extends RepresentationModel<Product> implements Serializable {
+public class Product implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_sequence")
+    @SequenceGenerator(name = "product_sequence", sequenceName = "tb_product_seq", allocationSize = 50) // Pooled IDs, so inserts can be batched
     private Long id;
 
     @Column(unique = true, nullable = false, length = 100)
@@ -31,6 +32,20 @@ public class Product extends RepresentationModel<Product> implements Serializabl
     @Column(nullable = false)
     private Long quantity;
 
+    @Column(name = "reorder_threshold")
+    private Long reorderThreshold; // No stock alerts when null
+
+    // Units held by active reservations, only changed by the guarded statements in ProductRepository (never written by an entity update)
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long reserved;
+
+    @Version // Incremented on every update, also used as the product's ETag
+    @Column(nullable = false, columnDefinition = "bigint not null default 0") // The default fills rows written before the column existed
+    private long version;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "timestamp(6) with time zone not null default now()")
+    private Instant updatedAt;
+
     public Product() {
     }
 
@@ -39,6 +54,7 @@ public class Product extends RepresentationModel<Product> implements Serializabl
         this.description = productRequestDTO.description();
         this.price = productRequestDTO.price();
         this.quantity = productRequestDTO.quantity();
+        this.reorderThreshold = productRequestDTO.reorderThreshold();
     }
 
     public Long getId() {
@@ -77,6 +93,32 @@ public class Product extends RepresentationModel<Product> implements Serializabl
         this.quantity = quantity;
     }
 
+    public Long getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Long reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    public long getReserved() {
+        return reserved;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now();
+    }
+
     @Override
     public String toString() {
         return "Product{" +
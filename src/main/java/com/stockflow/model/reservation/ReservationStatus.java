@@ -0,0 +1,9 @@
+package com.stockflow.model.reservation;
+
+public enum ReservationStatus {
+
+    ACTIVE,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
@@ -3,21 +3,18 @@ package com.stockflow.model.user;
 import com.stockflow.dto.userDtos.SignUpRequestDTO;
 import com.stockflow.dto.userDtos.UserRequestDTO;
 import jakarta.persistence.*;
-import org.springframework.hateoas.RepresentationModel;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
 @Table(name = "tb_user")
-public class User extends RepresentationModel<User> implements UserDetails, Serializable {
+public class User implements UserDetails, Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -81,9 +78,7 @@ public class User extends RepresentationModel<User> implements UserDetails, Seri
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (this.role == UserRole.ADMIN)
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_COMMON"));
-        else return List.of(new SimpleGrantedAuthority("ROLE_COMMON"));
+        return role == UserRole.ADMIN ? UserRole.ADMIN.getAuthorities() : UserRole.COMMON.getAuthorities();
     }
 
     @Override
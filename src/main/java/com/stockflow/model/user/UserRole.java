@@ -1,17 +1,29 @@
 package com.stockflow.model.user;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
 
-    ADMIN("admin"),
-    COMMON("common");
+    ADMIN("admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_COMMON"))),
+    COMMON("common", List.of(new SimpleGrantedAuthority("ROLE_COMMON")));
 
     private String role;
+    private final List<GrantedAuthority> authorities;
 
-    UserRole(String role) {
+    UserRole(String role, List<GrantedAuthority> authorities) {
         this.role = role;
+        this.authorities = authorities;
     }
 
     public String getRole() {
         return role;
     }
+
+    // Authorities granted to the role, built once and shared by every request
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
@@ -0,0 +1,42 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.product.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Short> {
+
+    // Every instance runs this at startup, only the missing shards are inserted, an existing row keeps its count
+    @Transactional
+    @Modifying
+    @Query(value = "insert into tb_product_catalog_version (id, version, updated_at) select id, 0, now() from generate_series(1, :shards) as id on conflict (id) do nothing", nativeQuery = true)
+    int createIfMissing(@Param("shards") int shards);
+
+    // Joins the writer's transaction, clock_timestamp() is close to the commit, now() would be the start of the transaction
+    @Transactional
+    @Modifying
+    @Query(value = "update tb_product_catalog_version set version = version + 1, updated_at = clock_timestamp() where id = :shard", nativeQuery = true)
+    int bump(@Param("shard") short shard);
+
+    // Sums every row, not only the configured shards, so lowering their number never takes the version back.
+    // The age is computed by the database clock, the one that wrote updated_at.
+    @Query(value = "select sum(version) as version, cast(extract(epoch from max(updated_at)) * 1000 as bigint) as \"updatedAtMillis\", " +
+            "cast(extract(epoch from now() - max(updated_at)) * 1000 as bigint) as \"ageMillis\" from tb_product_catalog_version", nativeQuery = true)
+    Optional<CurrentVersion> findCurrent();
+
+    interface CurrentVersion {
+
+        Long getVersion();
+
+        Long getUpdatedAtMillis();
+
+        Long getAgeMillis();
+    }
+}
@@ -0,0 +1,15 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.imports.ProductImportError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductImportErrorRepository extends JpaRepository<ProductImportError, Long> {
+
+    List<ProductImportError> findByImportIdAndRowNumberGreaterThanOrderByRowNumberAsc(UUID importId, Long rowNumber, Limit limit);
+}
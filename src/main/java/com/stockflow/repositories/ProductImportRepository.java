@@ -0,0 +1,33 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.imports.ProductImport;
+import com.stockflow.model.imports.ProductImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductImportRepository extends JpaRepository<ProductImport, UUID> {
+
+    List<ProductImport> findByStatusInAndOwnerNode(Collection<ProductImportStatus> statuses, String ownerNode);
+
+    // Compare-and-set on the status, so a job is never run twice at the same time
+    @Transactional
+    @Modifying
+    @Query("update ProductImport i set i.status = :to where i.id = :id and i.status in :from")
+    int transition(@Param("id") UUID id, @Param("from") Collection<ProductImportStatus> from, @Param("to") ProductImportStatus to);
+
+    // Leaves the checkpoint as committed by the last successful batch
+    @Transactional
+    @Modifying
+    @Query("update ProductImport i set i.status = :status, i.errorMessage = :errorMessage, i.finishedAt = :finishedAt where i.id = :id")
+    int finish(@Param("id") UUID id, @Param("status") ProductImportStatus status, @Param("errorMessage") String errorMessage, @Param("finishedAt") Instant finishedAt);
+}
@@ -1,9 +1,101 @@
 package com.stockflow.repositories;
 
 import com.stockflow.model.product.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Keyset pagination over the primary key index, never scans rows before the cursor
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findByNameIn(Collection<String> names);
+
+    // Single conditional UPDATE, the row lock is held only for this statement and a decrement can never take units held by reservations (bumps the version like a JPA update).
+    // released gives held units back in the same statement, so a reservation commit can consume its own units
+    @Query(value = "update tb_product set quantity = quantity + :delta, reserved = greatest(reserved - :released, 0), version = version + 1, updated_at = now() " +
+            "where id = :id and (:delta >= 0 or quantity + :delta >= reserved - :released) " +
+            "returning quantity, price, reorder_threshold as \"reorderThreshold\", version", nativeQuery = true)
+    Optional<AdjustedStock> adjustQuantity(@Param("id") Long id, @Param("delta") long delta, @Param("released") long released);
+
+    // Locks the row until the transaction ends, so no hold can raise reserved between the check and the write
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    // Locked in ID order, so two chunks touching the same products cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Products at or within nearPercent of their reorder threshold, in keyset pages, used to seed the stock alert index
+    @Query("select p from Product p where p.id > :after and p.reorderThreshold is not null " +
+            "and p.quantity <= p.reorderThreshold + p.reorderThreshold * :nearPercent / 100 order by p.id")
+    List<Product> findNearReorderThreshold(@Param("after") Long after, @Param("nearPercent") long nearPercent, Limit limit);
+
+    // Server-side cursor over the whole table, rows are fetched in chunks instead of being materialized at once (must run inside a transaction)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
+    // Single DELETE that hands back the removed row, so concurrent deletes cannot both act on it (empty when nothing was removed)
+    @Query(value = "delete from tb_product where id = :id returning quantity, price, version", nativeQuery = true)
+    Optional<DeletedProduct> deleteReturning(@Param("id") Long id);
+
+    // Holds units with the same conditional UPDATE, so instances sharing the database can never reserve more than the stock
+    @Modifying
+    @Query(value = "update tb_product set reserved = reserved + :quantity where id = :id and quantity - reserved >= :quantity", nativeQuery = true)
+    int reserve(@Param("id") Long id, @Param("quantity") long quantity);
+
+    @Modifying
+    @Query(value = "update tb_product set reserved = greatest(reserved - :quantity, 0) where id = :id", nativeQuery = true)
+    int unreserve(@Param("id") Long id, @Param("quantity") long quantity);
+
+    @Query("select p.quantity as quantity, p.reserved as reserved from Product p where p.id = :id")
+    Optional<StockLevel> findStockLevel(@Param("id") Long id);
+
+    interface AdjustedStock {
+
+        Long getQuantity();
+
+        Double getPrice();
+
+        Long getReorderThreshold();
+
+        Long getVersion();
+    }
+
+    interface DeletedProduct {
+
+        Long getQuantity();
+
+        Double getPrice();
+
+        Long getVersion();
+    }
+
+    interface StockLevel {
+
+        Long getQuantity();
+
+        Long getReserved();
+    }
 }
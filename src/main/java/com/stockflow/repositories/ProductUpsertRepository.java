@@ -0,0 +1,92 @@
+package com.stockflow.repositories;
+
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// Upserts products by their unique name in one statement per batch, the rows are sent as arrays instead of one statement (or one bind set) each
+@Repository
+public class ProductUpsertRepository {
+
+    // The previous values are read (and locked) in the same statement, so the caller can keep the ledger, caches and totals in step.
+    // Existing names keep their ID, nextval reserves a whole block of Hibernate's pooled IDs and is only called for names that are new
+    private static final String UPSERT_BY_NAME = """
+            with input as (
+                select * from unnest(?::text[], ?::text[], ?::float8[], ?::int8[], ?::int8[]) as t(name, description, price, quantity, reorder_threshold)
+            ), previous as (
+                select p.id, p.name, p.price, p.quantity from tb_product p join input on input.name = p.name for update of p
+            ), upserted as (
+                insert into tb_product (id, name, description, price, quantity, reorder_threshold, version, updated_at)
+                select coalesce(previous.id, nextval('tb_product_seq')), input.name, input.description, input.price, input.quantity, input.reorder_threshold, 0, now()
+                from input left join previous on previous.name = input.name
+                on conflict (name) do update set description = excluded.description, price = excluded.price, quantity = excluded.quantity,
+                    reorder_threshold = excluded.reorder_threshold, version = tb_product.version + 1, updated_at = now()
+                where excluded.quantity >= tb_product.reserved
+                returning id, name, description, price, quantity, reorder_threshold, version, updated_at, xmax = 0 as inserted
+            )
+            select upserted.*, previous.price as previous_price, previous.quantity as previous_quantity
+            from upserted left join previous on previous.id = upserted.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Method expects distinct names, Postgres rejects a statement that would update the same row twice (must run inside a transaction).
+    // An existing product whose new quantity is below its held units is left as is and not returned
+    public List<UpsertedProduct> upsertByName(List<ProductRequestDTO> products) {
+        return jdbcTemplate.query(connection -> prepare(connection, products), (resultSet, rowNumber) -> map(resultSet));
+    }
+
+    private static PreparedStatement prepare(Connection connection, List<ProductRequestDTO> products) throws SQLException {
+        int size = products.size();
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        Double[] prices = new Double[size];
+        Long[] quantities = new Long[size];
+        Long[] reorderThresholds = new Long[size];
+        for (int index = 0; index < size; index++) {
+            ProductRequestDTO product = products.get(index);
+            names[index] = product.name();
+            descriptions[index] = product.description();
+            prices[index] = product.price();
+            quantities[index] = product.quantity();
+            reorderThresholds[index] = product.reorderThreshold();
+        }
+        PreparedStatement statement = connection.prepareStatement(UPSERT_BY_NAME);
+        statement.setArray(1, connection.createArrayOf("text", names));
+        statement.setArray(2, connection.createArrayOf("text", descriptions));
+        statement.setArray(3, connection.createArrayOf("float8", prices));
+        statement.setArray(4, connection.createArrayOf("int8", quantities));
+        statement.setArray(5, connection.createArrayOf("int8", reorderThresholds));
+        return statement;
+    }
+
+    private static UpsertedProduct map(ResultSet resultSet) throws SQLException {
+        ProductResponseDTO product = new ProductResponseDTO(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                resultSet.getDouble("price"),
+                resultSet.getLong("quantity"),
+                resultSet.getObject("reorder_threshold", Long.class),
+                resultSet.getLong("version"),
+                resultSet.getTimestamp("updated_at").toInstant(),
+                null);
+        return new UpsertedProduct(product, resultSet.getBoolean("inserted"),
+                resultSet.getObject("previous_price", Double.class), resultSet.getObject("previous_quantity", Long.class));
+    }
+
+    // The previous values are null for new products (and for a name inserted concurrently by another writer)
+    public record UpsertedProduct(ProductResponseDTO product, boolean inserted, Double previousPrice, Long previousQuantity) {
+    }
+}
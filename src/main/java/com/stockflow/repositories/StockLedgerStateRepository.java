@@ -0,0 +1,16 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.ledger.StockLedgerState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockLedgerStateRepository extends JpaRepository<StockLedgerState, Short> {
+
+    // Returns 1 for the one caller that records the opening balances, another instance doing it at the same time waits for its commit and gets 0 (must run inside a transaction)
+    @Modifying
+    @Query(value = "insert into tb_stock_ledger_state (id, opening_balances_recorded_at) values (1, now()) on conflict (id) do nothing", nativeQuery = true)
+    int claimOpeningBalances();
+}
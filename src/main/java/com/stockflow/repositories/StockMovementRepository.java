@@ -0,0 +1,43 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.ledger.StockMovement;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    List<StockMovement> findByProductIdAndIdLessThanOrderByIdDesc(Long productId, Long id, Limit limit);
+
+    // Movements of a product created up to asOf that a snapshot (takenAt, coveredTransactionId) does not include
+    @Query("select coalesce(sum(m.delta), 0) from StockMovement m where m.productId = :productId and m.createdAt <= :asOf " +
+            "and (m.transactionId >= :coveredTransactionId or m.createdAt > :takenAt)")
+    long sumDeltaNotIn(@Param("productId") Long productId, @Param("takenAt") Instant takenAt, @Param("coveredTransactionId") long coveredTransactionId, @Param("asOf") Instant asOf);
+
+    // Per product, the movements a snapshot (to, toTransactionId) adds to the previous one (from, fromTransactionId)
+    @Query("select m.productId as productId, sum(m.delta) as delta from StockMovement m where m.createdAt <= :to and m.transactionId < :toTransactionId " +
+            "and (m.transactionId >= :fromTransactionId or m.createdAt > :from) group by m.productId")
+    List<MovementTotal> sumDeltaByProductSince(@Param("from") Instant from, @Param("fromTransactionId") long fromTransactionId,
+                                               @Param("to") Instant to, @Param("toTransactionId") long toTransactionId);
+
+    // Every transaction below this ID has ended, so the movements below it are all visible and none can still be added
+    @Query(value = "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long findCompletedTransactionCursor();
+
+    // Products that never had a movement (registered before the ledger existed), read in keyset pages
+    @Query("select p.id as productId, coalesce(p.quantity, 0) as delta from Product p where p.id > :after and not exists (select m.id from StockMovement m where m.productId = p.id) order by p.id")
+    List<MovementTotal> findProductsWithoutMovements(@Param("after") Long after, Limit limit);
+
+    interface MovementTotal {
+
+        Long getProductId();
+
+        Long getDelta();
+    }
+}
@@ -0,0 +1,27 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.reservation.ReservationStatus;
+import com.stockflow.model.reservation.StockReservation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    List<StockReservation> findByStatusAndExpiresAtBefore(ReservationStatus status, Instant expiresAt, Limit limit);
+
+    // Compare-and-set on the status, only one of concurrent commit/release/expire calls can win
+    @Transactional
+    @Modifying
+    @Query("update StockReservation r set r.status = :to where r.id = :id and r.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to);
+}
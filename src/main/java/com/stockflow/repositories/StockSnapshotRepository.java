@@ -0,0 +1,28 @@
+package com.stockflow.repositories;
+
+import com.stockflow.model.ledger.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(Long productId, Instant takenAt);
+
+    Optional<StockSnapshot> findFirstByOrderByTakenAtDesc();
+
+    // Only one instance takes snapshots at a time, the lock is released with the transaction
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    // Latest snapshot of each given product taken up to the given instant
+    @Query("select s from StockSnapshot s where s.productId in :productIds and s.takenAt = (select max(l.takenAt) from StockSnapshot l where l.productId = s.productId and l.takenAt <= :takenAt)")
+    List<StockSnapshot> findLatestByProductIdIn(@Param("productIds") Collection<Long> productIds, @Param("takenAt") Instant takenAt);
+}
@@ -0,0 +1,237 @@
+package com.stockflow.search;
+
+import com.stockflow.model.product.Product;
+import com.stockflow.repositories.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over product names and descriptions, terms are kept sorted so a prefix is a range scan
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_TERM_BONUS = 2;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final String[] NO_TERMS = new String[0];
+    private final ProductRepository repository;
+    private final int maxExpansions;
+    private final int minPrefixLength;
+
+    // term -> (product ID -> field weight), the weight is the best field the term appears in
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    // product ID -> indexed terms, needed to take a product out of the postings on update/delete
+    private final Map<Long, String[]> termsByProduct = new ConcurrentHashMap<>();
+
+    public ProductSearchIndex(ProductRepository repository,
+                              @Value("${api.search.max-expansions:50}") int maxExpansions,
+                              @Value("${api.search.min-prefix-length:2}") int minPrefixLength) {
+        this.repository = repository;
+        this.maxExpansions = maxExpansions;
+        this.minPrefixLength = minPrefixLength;
+    }
+
+    // Method indexes the whole catalog in keyset pages before the web server starts taking writes
+    @PostConstruct
+    public void build() {
+        long start = System.nanoTime();
+        Long after = Long.MIN_VALUE;
+        List<Product> products;
+        do {
+            products = repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(BUILD_PAGE_SIZE));
+            products.forEach(product -> index(product.getId(), product.getName(), product.getDescription()));
+            if (!products.isEmpty()) after = products.get(products.size() - 1).getId();
+        } while (products.size() == BUILD_PAGE_SIZE);
+        logger.info("Product search index built with {} products and {} terms in {} ms.", termsByProduct.size(), termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Method (re)indexes one product, replacing whatever was indexed for it before
+    public void index(Long id, String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(description).forEach(term -> weights.put(term, DESCRIPTION_WEIGHT));
+        tokenize(name).forEach(term -> weights.put(term, NAME_WEIGHT)); // A name term outranks the same term in the description
+
+        termsByProduct.compute(id, (productId, previousTerms) -> { // Serializes concurrent writes of the same product
+            if (previousTerms != null) {
+                for (String term : previousTerms) {
+                    if (!weights.containsKey(term)) removePosting(term, productId);
+                }
+            }
+            weights.forEach((term, weight) -> addPosting(term, productId, weight));
+            return weights.keySet().toArray(NO_TERMS);
+        });
+    }
+
+    public void remove(Long id) {
+        termsByProduct.computeIfPresent(id, (productId, terms) -> {
+            for (String term : terms) removePosting(term, productId);
+            return null;
+        });
+    }
+
+    // Method returns the IDs of the products matching every query term (as a prefix), best matches first
+    public SearchPage search(String query, int page, int size) {
+        List<String> queryTerms = tokenize(query).stream().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) return new SearchPage(0, List.of(), false);
+
+        List<List<Map.Entry<String, Map<Long, Integer>>>> expansions = new ArrayList<>(queryTerms.size());
+        boolean truncated = false;
+        for (String queryTerm : queryTerms) {
+            Expansion expansion = expand(queryTerm);
+            if (expansion.matches().isEmpty()) return new SearchPage(0, List.of(), false); // A term without matches empties an AND query
+            expansions.add(expansion.matches());
+            truncated |= expansion.truncated();
+        }
+
+        int driver = 0; // Candidates come from the most selective term, the others are only probed
+        for (int index = 1; index < expansions.size(); index++) {
+            if (postingCount(expansions.get(index)) < postingCount(expansions.get(driver))) driver = index;
+        }
+
+        Map<Long, Integer> candidates = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> match : expansions.get(driver)) {
+            int bonus = match.getKey().equals(queryTerms.get(driver)) ? EXACT_TERM_BONUS : 1;
+            match.getValue().forEach((productId, weight) -> candidates.merge(productId, weight * bonus, Math::max));
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+            int score = candidate.getValue();
+            for (int index = 0; index < expansions.size() && score > 0; index++) {
+                if (index != driver) {
+                    int termScore = score(candidate.getKey(), queryTerms.get(index), expansions.get(index));
+                    score = termScore > 0 ? score + termScore : 0;
+                }
+            }
+            if (score > 0) hits.add(new Hit(candidate.getKey(), score));
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::productId));
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        return new SearchPage(hits.size(), hits.subList(from, to).stream().map(Hit::productId).toList(), truncated);
+    }
+
+    public int size() {
+        return termsByProduct.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    // Method lists the indexed terms starting with the query term, past the cap it keeps the exact term and the terms used by most products.
+    // A term shorter than the minimum prefix only matches itself, it would otherwise walk a large part of the index.
+    private Expansion expand(String queryTerm) {
+        NavigableMap<String, Map<Long, Integer>> range = queryTerm.length() < minPrefixLength
+                ? postings.subMap(queryTerm, true, queryTerm, true)
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+        Map.Entry<String, Map<Long, Integer>> exact = null;
+        PriorityQueue<TermMatch> mostUsed = new PriorityQueue<>(Comparator.comparingInt(TermMatch::postings)); // Least used on top, dropped first
+        boolean truncated = false;
+        for (Map.Entry<String, Map<Long, Integer>> entry : range.entrySet()) {
+            int postingsOfTerm = entry.getValue().size(); // Read once, the comparator needs a value that does not change
+            if (postingsOfTerm == 0) continue;
+            if (entry.getKey().equals(queryTerm)) {
+                exact = entry; // First in the range, always kept
+                continue;
+            }
+            mostUsed.add(new TermMatch(entry, postingsOfTerm));
+            if (mostUsed.size() > maxExpansions - (exact != null ? 1 : 0)) {
+                mostUsed.poll();
+                truncated = true;
+            }
+        }
+        List<Map.Entry<String, Map<Long, Integer>>> matches = new ArrayList<>(mostUsed.size() + 1);
+        if (exact != null) matches.add(exact);
+        mostUsed.forEach(match -> matches.add(match.entry()));
+        return new Expansion(matches, truncated);
+    }
+
+    private static int score(Long productId, String queryTerm, List<Map.Entry<String, Map<Long, Integer>>> matches) {
+        int best = 0;
+        for (Map.Entry<String, Map<Long, Integer>> match : matches) {
+            Integer weight = match.getValue().get(productId);
+            if (weight != null) best = Math.max(best, weight * (match.getKey().equals(queryTerm) ? EXACT_TERM_BONUS : 1));
+        }
+        return best;
+    }
+
+    private static long postingCount(List<Map.Entry<String, Map<Long, Integer>>> matches) {
+        long count = 0;
+        for (Map.Entry<String, Map<Long, Integer>> match : matches) count += match.getValue().size();
+        return count;
+    }
+
+    // Method adds the product to the postings of the term, retrying when the map it found was pruned in the meantime.
+    // The postings map of a term is locked only by writers, so a prune never drops an add made to the same map.
+    private void addPosting(String term, Long productId, int weight) {
+        while (true) {
+            Map<Long, Integer> products = postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>());
+            synchronized (products) {
+                if (postings.get(term) == products) {
+                    products.put(productId, weight);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Method drops the term once no product uses it, so removed words do not pile up in the index
+    private void removePosting(String term, Long productId) {
+        Map<Long, Integer> products = postings.get(term);
+        if (products == null) return;
+        synchronized (products) {
+            products.remove(productId);
+            if (products.isEmpty()) postings.remove(term, products);
+        }
+    }
+
+    // Method lowercases, strips accents and splits on anything that is not a letter or digit in any script
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return Set.of();
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms;
+    }
+
+    // truncated is set when a query word matched more indexed words than the expansion cap, so rarely used words were left out of the total
+    public record SearchPage(long total, List<Long> productIds, boolean truncated) {
+    }
+
+    private record Expansion(List<Map.Entry<String, Map<Long, Integer>>> matches, boolean truncated) {
+    }
+
+    private record TermMatch(Map.Entry<String, Map<Long, Integer>> entry, int postings) {
+    }
+
+    private record Hit(Long productId, int score) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.stockflow.security;
+
+import com.stockflow.model.user.UserRole;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.UUID;
+
+// Principal of an authenticated request, rebuilt from the token claims instead of loading the user from the database
+public record AuthenticatedUser(UUID id, String login, UserRole role) implements Principal, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getName() {
+        return login;
+    }
+
+    // Tokens issued before the claims existed only carry the login
+    public boolean hasClaims() {
+        return id != null && role != null;
+    }
+}
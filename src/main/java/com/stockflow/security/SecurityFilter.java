@@ -1,17 +1,24 @@
 package com.stockflow.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockflow.model.user.User;
 import com.stockflow.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -19,24 +26,57 @@ public class SecurityFilter extends OncePerRequestFilter {
     private final TokenService tokenService;
     private final UserRepository userRepository;
 
-    public SecurityFilter(TokenService tokenService, UserRepository userRepository) {
+    // Users loaded for tokens without claims, kept briefly so older tokens do not hit tb_user on every request
+    private final Cache<String, Optional<AuthenticatedUser>> principalCache;
+
+    public SecurityFilter(TokenService tokenService,
+                          UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${api.security.principal-cache.maximum-size:10000}") long principalCacheMaximumSize,
+                          @Value("${api.security.principal-cache.ttl:1m}") Duration principalCacheTtl) {
         this.tokenService = tokenService;
         this.userRepository = userRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaximumSize)
+                .expireAfterWrite(principalCacheTtl) // Short, a role change or deletion is picked up quickly
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "principals");
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null) {
-            var login = tokenService.validateToken(token);
-            UserDetails user = userRepository.findByLogin(login);
+            AuthenticatedUser user = tokenService.validateToken(token);
+            if (user != null && !user.hasClaims()) {
+                user = findUser(user.login()).orElse(null);
+            }
 
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (user != null) { // Built from the verified claims, no database lookup
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.role().getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    // Method loads outside the cache's compute, a database call inside it would pin a virtual thread to its carrier
+    private Optional<AuthenticatedUser> findUser(String login) {
+        Optional<AuthenticatedUser> cachedUser = principalCache.getIfPresent(login);
+        if (cachedUser != null) return cachedUser;
+        Optional<AuthenticatedUser> loadedUser = loadUser(login);
+        principalCache.put(login, loadedUser);
+        return loadedUser;
+    }
+
+    private Optional<AuthenticatedUser> loadUser(String login) {
+        if (userRepository.findByLogin(login) instanceof User user) {
+            return Optional.of(new AuthenticatedUser(user.getId(), user.getLogin(), user.getRole()));
+        }
+        return Optional.empty();
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) return null;
@@ -1,55 +1,152 @@
 package com.stockflow.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.stockflow.model.user.User;
+import com.stockflow.model.user.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "StockFlow API";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Timer generateTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
+
+    // Tokens already verified, so a client reusing its token only pays for the HMAC check once.
+    // Keyed by the SHA-256 of the token, so a heap dump or cache inspection does not expose usable bearer tokens.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.cache.maximum-size:10000}") long cacheMaximumSize,
+                        MeterRegistry meterRegistry) {
+        this.algorithm = Algorithm.HMAC256(secret); // Algorithm and verifier are immutable and thread-safe, built once
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry()) // An entry never outlives the token it holds
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "tokens");
+        this.generateTimer = tokenTimer(meterRegistry, "generate", "success");
+        this.verifyValidTimer = tokenTimer(meterRegistry, "verify", "valid");
+        this.verifyInvalidTimer = tokenTimer(meterRegistry, "verify", "invalid");
+    }
 
     // Method to generate a token
     public String generateToken(User user) {
+        Timer.Sample sample = Timer.start();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT
                     .create()
-                    .withIssuer("StockFlow API") // Who generated the token
+                    .withIssuer(ISSUER) // Who generated the token
                     .withSubject(user.getLogin()) // User receiving the token
+                    .withClaim(USER_ID_CLAIM, user.getId().toString())
+                    .withClaim(ROLE_CLAIM, user.getRole().name()) // Lets requests be authenticated without loading the user
                     .withExpiresAt(generateExpirationDate())
                     .sign(algorithm); // Generate
+            sample.stop(generateTimer);
             return token;
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generation token | ", exception);
         }
     }
 
-    // Method to validate a token
-    public String validateToken(String token) {
+    // Method to validate a token, returns null when the token is rejected
+    public AuthenticatedUser validateToken(String token) {
+        String tokenHash = sha256(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken != null && (verifiedToken.expiresAt() == null || verifiedToken.expiresAt().isAfter(Instant.now()))) {
+            return verifiedToken.user();
+        }
+        Timer.Sample sample = Timer.start(); // Only the signature checks are timed, cache hits show up in the "tokens" cache metrics
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("StockFlow API")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decodedJWT = verifier.verify(token);
+            sample.stop(verifyValidTimer);
+            AuthenticatedUser user = toAuthenticatedUser(decodedJWT);
+            verifiedTokens.put(tokenHash, new VerifiedToken(user, decodedJWT.getExpiresAtAsInstant()));
+            return user;
         } catch (JWTVerificationException exception) {
-            return "";
+            sample.stop(verifyInvalidTimer);
+            return null; // Rejected tokens are not cached, they are checked again every time
         }
     }
 
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception); // Every Java platform is required to provide it
+        }
+    }
+
+    private static AuthenticatedUser toAuthenticatedUser(DecodedJWT decodedJWT) {
+        String userId = decodedJWT.getClaim(USER_ID_CLAIM).asString();
+        String role = decodedJWT.getClaim(ROLE_CLAIM).asString();
+        if (userId == null || role == null) return new AuthenticatedUser(null, decodedJWT.getSubject(), null); // Issued before the claims existed
+        return new AuthenticatedUser(UUID.fromString(userId), decodedJWT.getSubject(), UserRole.valueOf(role));
+    }
+
     // Method to generate token expiration time (Valid for 2H)
     private Instant generateExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private static Timer tokenTimer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("auth.token")
+                .description("Time spent signing or verifying a JWT")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, VerifiedToken verifiedToken, long currentTime) {
+            if (verifiedToken.expiresAt() == null) return Long.MAX_VALUE; // Token without exp claim, only evicted by size
+            return Math.max(0, Duration.between(Instant.now(), verifiedToken.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.stockflow.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.util.CustomMediaType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Resolves the response format of a request and the ObjectMapper its message converter uses, for endpoints that write bytes themselves
+@Component
+public class MediaTypeNegotiator {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
+            MediaType.valueOf(CustomMediaType.APPLICATION_JSON),
+            MediaType.valueOf(CustomMediaType.APPLICATION_XML),
+            MediaType.valueOf(CustomMediaType.APPLICATION_YAML),
+            MediaType.valueOf(CustomMediaType.APPLICATION_CBOR),
+            MediaType.valueOf(CustomMediaType.APPLICATION_SMILE));
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final Map<MediaType, ObjectMapper> objectMappers = new LinkedHashMap<>();
+
+    public MediaTypeNegotiator(ContentNegotiationManager contentNegotiationManager, HttpMessageConverters messageConverters) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        for (MediaType mediaType : SUPPORTED_MEDIA_TYPES) { // Same mapper the converter would use, so the output matches a converter-written response
+            for (HttpMessageConverter<?> converter : messageConverters.getConverters()) {
+                if (converter instanceof AbstractJackson2HttpMessageConverter jacksonConverter && jacksonConverter.canWrite(List.class, mediaType)) {
+                    objectMappers.put(mediaType, jacksonConverter.getObjectMapper());
+                    break;
+                }
+            }
+        }
+    }
+
+    // Method returns the first supported format the client accepts, JSON when it accepts none of them
+    public MediaType negotiate(HttpServletRequest request) {
+        try {
+            for (MediaType requested : contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request))) {
+                for (MediaType supported : objectMappers.keySet()) {
+                    if (requested.isCompatibleWith(supported)) return supported;
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException exception) {
+            // Falls through to the default format below
+        }
+        return SUPPORTED_MEDIA_TYPES.get(0);
+    }
+
+    public ObjectMapper objectMapper(MediaType mediaType) {
+        return objectMappers.get(mediaType);
+    }
+}
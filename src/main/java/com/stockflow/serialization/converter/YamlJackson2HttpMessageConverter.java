@@ -1,6 +1,7 @@
 package com.stockflow.serialization.converter;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
@@ -8,7 +9,11 @@ import org.springframework.http.converter.json.AbstractJackson2HttpMessageConver
 public class YamlJackson2HttpMessageConverter extends AbstractJackson2HttpMessageConverter {
 
     public YamlJackson2HttpMessageConverter() {
-        super(new YAMLMapper()
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL), MediaType.parseMediaType("application/x-yaml"));
+        this(new YAMLMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    public YamlJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, MediaType.parseMediaType("application/x-yaml"));
     }
 }
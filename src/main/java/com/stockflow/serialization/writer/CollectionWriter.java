@@ -0,0 +1,66 @@
+package com.stockflow.serialization.writer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+import javax.xml.namespace.QName;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Writes a collection element by element through the format's streaming generator (StAX for XML, events for YAML), so the list is never held in memory
+public class CollectionWriter implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 1000; // Elements written between flushes, keeps time-to-first-byte low without a flush per element
+    private static final QName XML_ROOT_NAME = new QName("List"); // Same root and element names Jackson uses when it writes a whole List
+    private static final String XML_ELEMENT_NAME = "item";
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final boolean xml;
+    private long written;
+
+    public CollectionWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.xml = generator instanceof ToXmlGenerator;
+        if (xml) {
+            ((ToXmlGenerator) generator).setNextName(XML_ROOT_NAME);
+            generator.writeStartObject();
+        } else {
+            generator.writeStartArray();
+        }
+    }
+
+    public void write(Object value) {
+        try {
+            if (xml) generator.writeFieldName(XML_ELEMENT_NAME);
+            writer.writeValue(generator, value);
+            if (++written % FLUSH_INTERVAL == 0) generator.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (xml) {
+                generator.writeEndObject();
+            } else {
+                generator.writeEndArray();
+            }
+        } finally {
+            generator.close();
+        }
+    }
+}
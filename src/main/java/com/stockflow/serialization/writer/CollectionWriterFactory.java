@@ -0,0 +1,43 @@
+package com.stockflow.serialization.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.serialization.MediaTypeNegotiator;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Consumer;
+
+// Streams a collection through a CollectionWriter in the format negotiated for the request
+@Component
+public class CollectionWriterFactory {
+
+    private final MediaTypeNegotiator mediaTypeNegotiator;
+
+    public CollectionWriterFactory(MediaTypeNegotiator mediaTypeNegotiator) {
+        this.mediaTypeNegotiator = mediaTypeNegotiator;
+    }
+
+    // Method streams the elements handed over by the producer in the format the client asked for
+    public ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, Consumer<CollectionWriter> producer) {
+        MediaType mediaType = mediaTypeNegotiator.negotiate(request);
+        ObjectMapper objectMapper = mediaTypeNegotiator.objectMapper(mediaType);
+        StreamingResponseBody body = outputStream -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request)); // Links are still built against the original request on the async thread
+            try (CollectionWriter writer = new CollectionWriter(objectMapper, outputStream)) {
+                producer.accept(writer);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .varyBy(HttpHeaders.ACCEPT) // The format, and so the ETag, follows the Accept header
+                .body(body);
+    }
+}
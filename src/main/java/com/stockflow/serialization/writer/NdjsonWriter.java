@@ -0,0 +1,46 @@
+package com.stockflow.serialization.writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Writes one JSON document per line (application/x-ndjson) straight to the output stream, so nothing is buffered per collection
+public class NdjsonWriter implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 1000; // Rows written between flushes, keeps time-to-first-byte low without a flush per row
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private long written;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null); // Lines are separated by '\n' below, not by Jackson's default space
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void write(Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+            if (++written % FLUSH_INTERVAL == 0) generator.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.importDtos.ProductImportErrorResponseDTO;
+import com.stockflow.dto.importDtos.ProductImportResponseDTO;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductImportService {
+
+    ProductImportResponseDTO start(InputStream csv, String fileName);
+
+    ProductImportResponseDTO findById(UUID id);
+
+    List<ProductImportErrorResponseDTO> listErrors(UUID id, Long after, int limit);
+
+    ProductImportResponseDTO resume(UUID id);
+}
@@ -0,0 +1,125 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.importDtos.ProductImportErrorResponseDTO;
+import com.stockflow.dto.importDtos.ProductImportResponseDTO;
+import com.stockflow.exceptions.InvalidProductImportException;
+import com.stockflow.exceptions.ProductImportNotFoundException;
+import com.stockflow.exceptions.ProductImportNotResumableException;
+import com.stockflow.imports.CsvRecordReader;
+import com.stockflow.imports.ProductCsvColumns;
+import com.stockflow.imports.ProductImportRunner;
+import com.stockflow.model.imports.ProductImport;
+import com.stockflow.model.imports.ProductImportStatus;
+import com.stockflow.repositories.ProductImportErrorRepository;
+import com.stockflow.repositories.ProductImportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+    private final ProductImportRepository repository;
+    private final ProductImportErrorRepository errorRepository;
+    private final ProductImportRunner runner;
+    private final Path directory;
+
+    public ProductImportServiceImpl(ProductImportRepository repository,
+                                    ProductImportErrorRepository errorRepository,
+                                    ProductImportRunner runner,
+                                    @Value("${api.import.directory:${java.io.tmpdir}/stockflow-imports}") Path directory) {
+        this.repository = repository;
+        this.errorRepository = errorRepository;
+        this.runner = runner;
+        this.directory = directory;
+    }
+
+    // Method streams the upload to disk (never held in memory), checks its header and queues the import
+    @Override
+    public ProductImportResponseDTO start(InputStream csv, String fileName) {
+        UUID id = UUID.randomUUID();
+        Path file = directory.resolve(id + ".csv");
+        logger.info("Receiving product import with ID: {} ({}).", id, fileName);
+        try {
+            Files.createDirectories(directory);
+            long size = Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            checkHeader(file);
+            ProductImport productImport = repository.save(new ProductImport(id, fileName != null ? fileName : file.getFileName().toString(), file.toString(), size, runner.getNodeId(), Instant.now()));
+            runner.submit(id);
+            logger.info("Product import with ID: {} queued ({} bytes).", id, size);
+            return new ProductImportResponseDTO(productImport);
+        } catch (IOException exception) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to store the uploaded file: " + exception.getMessage(), exception);
+        } catch (RuntimeException exception) {
+            deleteQuietly(file);
+            throw exception;
+        }
+    }
+
+    private void checkHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ProductCsvColumns.of(new CsvRecordReader(channel, 0).next());
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidProductImportException(exception.getMessage());
+        }
+    }
+
+    @Override
+    public ProductImportResponseDTO findById(UUID id) {
+        logger.info("Searching for product import with ID: {}.", id);
+        return new ProductImportResponseDTO(findImport(id));
+    }
+
+    @Override
+    public List<ProductImportErrorResponseDTO> listErrors(UUID id, Long after, int limit) {
+        logger.info("Listing errors of product import with ID: {} after row: {} (limit: {}).", id, after, limit);
+        findImport(id);
+        return errorRepository.findByImportIdAndRowNumberGreaterThanOrderByRowNumberAsc(id, after != null ? after : 0L, Limit.of(limit)).stream()
+                .map(ProductImportErrorResponseDTO::new)
+                .toList();
+    }
+
+    @Override
+    public ProductImportResponseDTO resume(UUID id) {
+        logger.info("Resuming product import with ID: {}.", id);
+        ProductImport productImport = findImport(id);
+        if (productImport.getOwnerNode() != null && !productImport.getOwnerNode().equals(runner.getNodeId())) { // Imports from before owners were recorded resume anywhere
+            throw new ProductImportNotResumableException("Product import with ID: " + id + " was uploaded to node " + productImport.getOwnerNode() + ", it can only be resumed there.");
+        }
+        if (repository.transition(id, Set.of(ProductImportStatus.FAILED), ProductImportStatus.PENDING) == 0) {
+            throw new ProductImportNotResumableException("Product import with ID: " + id + " is " + findImport(id).getStatus() + ", only failed imports can be resumed.");
+        }
+        runner.submit(id);
+        return new ProductImportResponseDTO(findImport(id));
+    }
+
+    private ProductImport findImport(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ProductImportNotFoundException("Product import with ID: " + id + " not found."));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            logger.warn("Failed to delete the rejected import file {}: {}", file, exception.getMessage());
+        }
+    }
+}
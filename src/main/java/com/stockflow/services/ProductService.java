@@ -1,19 +1,38 @@
 package com.stockflow.services;
 
+import com.stockflow.dto.productDtos.ProductBulkResponseDTO;
 import com.stockflow.dto.productDtos.ProductRequestDTO;
 import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.dto.productDtos.ProductSearchResponseDTO;
+import com.stockflow.dto.productDtos.StockAdjustmentResponseDTO;
+import com.stockflow.model.ledger.StockMovementReason;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     ProductResponseDTO create(ProductRequestDTO productRequestDTO);
 
-    ProductResponseDTO update(ProductRequestDTO productRequestDTO);
+    ProductResponseDTO update(ProductRequestDTO productRequestDTO, Long expectedVersion);
+
+    ProductBulkResponseDTO bulkUpsert(List<ProductRequestDTO> productRequestDTOList);
+
+    ProductBulkResponseDTO upsertByName(List<ProductRequestDTO> productRequestDTOList);
+
+    StockAdjustmentResponseDTO adjustStock(Long id, long delta, StockMovementReason reason);
+
+    StockAdjustmentResponseDTO consumeReserved(Long id, long quantity);
 
     ProductResponseDTO findById(Long id);
 
-    List<ProductResponseDTO> listAll();
+    long listAll(Consumer<ProductResponseDTO> action);
+
+    List<ProductResponseDTO> listPage(Long after, int limit);
+
+    ProductSearchResponseDTO search(String query, int page, int size);
+
+    long streamAll(Consumer<ProductResponseDTO> action);
 
     void delete(Long id);
 }
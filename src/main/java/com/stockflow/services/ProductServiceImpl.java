@@ -1,59 +1,158 @@
 package com.stockflow.services;
 
-import com.stockflow.controllers.ProductController;
+import com.stockflow.alerting.StockAlertEngine;
+import com.stockflow.cache.ProductCache;
+import com.stockflow.cache.ProductResponseCache;
+import com.stockflow.dto.productDtos.ProductBulkErrorDTO;
+import com.stockflow.dto.productDtos.ProductBulkResponseDTO;
 import com.stockflow.dto.productDtos.ProductRequestDTO;
 import com.stockflow.dto.productDtos.ProductResponseDTO;
+import com.stockflow.dto.productDtos.ProductSearchResponseDTO;
+import com.stockflow.dto.productDtos.StockAdjustmentResponseDTO;
+import com.stockflow.events.ProductChangeFeed;
+import com.stockflow.events.ProductChangeType;
+import com.stockflow.exceptions.InsufficientStockException;
 import com.stockflow.exceptions.ProductNotFoundException;
+import com.stockflow.exceptions.ProductVersionMismatchException;
+import com.stockflow.hateoas.ControllerLinks;
+import com.stockflow.ledger.StockLedgerWriter;
+import com.stockflow.model.ledger.StockMovementReason;
 import com.stockflow.model.product.Product;
 import com.stockflow.repositories.ProductRepository;
+import com.stockflow.repositories.ProductUpsertRepository;
+import com.stockflow.search.ProductSearchIndex;
+import com.stockflow.util.TransactionHooks;
+import com.stockflow.valuation.InventoryValuation;
+import com.stockflow.versioning.ProductCatalogVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.stream.Stream;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
     private final ProductRepository repository;
+    private final ProductUpsertRepository upsertRepository;
+    private final EntityManager entityManager;
+    private final ProductCache productCache;
+    private final ProductResponseCache responseCache;
+    private final StockLedgerWriter stockLedgerWriter;
+    private final ProductSearchIndex searchIndex;
+    private final ProductCatalogVersion catalogVersion;
+    private final StockAlertEngine stockAlertEngine;
+    private final ProductChangeFeed changeFeed;
+    private final InventoryValuation valuation;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkBatchSize;
 
-    public ProductServiceImpl(ProductRepository repository) {
+    public ProductServiceImpl(ProductRepository repository,
+                              ProductUpsertRepository upsertRepository,
+                              EntityManager entityManager,
+                              ProductCache productCache,
+                              ProductResponseCache responseCache,
+                              StockLedgerWriter stockLedgerWriter,
+                              ProductSearchIndex searchIndex,
+                              ProductCatalogVersion catalogVersion,
+                              StockAlertEngine stockAlertEngine,
+                              ProductChangeFeed changeFeed,
+                              InventoryValuation valuation,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${api.jpa.batch-size:500}") int bulkBatchSize) {
         this.repository = repository;
+        this.upsertRepository = upsertRepository;
+        this.entityManager = entityManager;
+        this.productCache = productCache;
+        this.responseCache = responseCache;
+        this.stockLedgerWriter = stockLedgerWriter;
+        this.searchIndex = searchIndex;
+        this.catalogVersion = catalogVersion;
+        this.stockAlertEngine = stockAlertEngine;
+        this.changeFeed = changeFeed;
+        this.valuation = valuation;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkBatchSize = bulkBatchSize;
     }
 
     @Override
+    @Transactional // The catalog version is bumped with the insert
     public ProductResponseDTO create(ProductRequestDTO productRequestDTO) {
         logger.info("Creating a new product ({}).", productRequestDTO.name());
         Product createdProduct = repository.save(new Product(productRequestDTO));
-
-        createdProduct.add(linkTo(methodOn(ProductController.class).create(productRequestDTO)).withSelfRel()); // Adding link hateoas
+        productCache.invalidateAfterCommit(createdProduct.getId()); // Drops a cached "not found" for the new ID
+        stockLedgerWriter.record(createdProduct.getId(), quantityOf(createdProduct), StockMovementReason.CREATED);
+        indexAfterCommit(createdProduct);
+        catalogVersion.bumpBeforeCommit();
+        stockAlertEngine.onChangeAfterCommit(createdProduct.getId(), createdProduct.getVersion(), quantityOf(createdProduct), createdProduct.getReorderThreshold());
+        changeFeed.publishAfterCommit(ProductChangeType.CREATED, createdProduct.getId(), createdProduct.getVersion(), new ProductResponseDTO(createdProduct));
+        valuation.onChangeAfterCommit(null, valueOf(createdProduct));
 
         logger.info("Product created successfully with ID: {}.", createdProduct.getId());
-        return new ProductResponseDTO(createdProduct);
+        return new ProductResponseDTO(createdProduct).withSelfLink(ControllerLinks.PRODUCTS); // Adding link hateoas
     }
 
     @Override
-    public ProductResponseDTO update(ProductRequestDTO productRequestDTO) {
+    @Transactional // The read and the write share one primary connection, a replica cannot hand back an older version to overwrite
+    public ProductResponseDTO update(ProductRequestDTO productRequestDTO, Long expectedVersion) {
         logger.info("Updating a product with ID: {}.", productRequestDTO.id());
-        Optional<Product> optionalProduct = repository.findById(productRequestDTO.id());
+        Optional<Product> optionalProduct = repository.findByIdForUpdate(productRequestDTO.id());
         if (optionalProduct.isPresent()) {
             Product foundProduct = optionalProduct.get();
-            logger.info("Product found for update: {}.", productRequestDTO);
+            logger.info("Product with ID: {} found for update.", productRequestDTO.id());
+            if (expectedVersion != null && expectedVersion != foundProduct.getVersion()) { // A concurrent change after this check still fails on the versioned UPDATE
+                logger.info("Product with ID: {} is at version {}, not the expected {}.", productRequestDTO.id(), foundProduct.getVersion(), expectedVersion);
+                throw new ProductVersionMismatchException("Product with ID: " + productRequestDTO.id() + " was modified, it is no longer at the expected version.");
+            }
+            String heldError = heldUnitsError(productRequestDTO, foundProduct);
+            if (heldError != null) {
+                logger.info("Product with ID: {} cannot be updated: {}", productRequestDTO.id(), heldError);
+                throw new InsufficientStockException(heldError);
+            }
+            long previousQuantity = quantityOf(foundProduct);
+            InventoryValuation.StockValue previousValue = valueOf(foundProduct);
 
             foundProduct.setName(productRequestDTO.name());
             foundProduct.setDescription(productRequestDTO.description());
             foundProduct.setPrice(productRequestDTO.price());
             foundProduct.setQuantity(productRequestDTO.quantity());
+            foundProduct.setReorderThreshold(productRequestDTO.reorderThreshold());
 
-            foundProduct.add(linkTo(methodOn(ProductController.class).update(productRequestDTO)).withSelfRel()); // Adding link hateoas
-
-            ProductResponseDTO updatedProduct = new ProductResponseDTO(repository.save(foundProduct));
+            ProductResponseDTO updatedProduct = new ProductResponseDTO(repository.saveAndFlush(foundProduct)).withSelfLink(ControllerLinks.PRODUCTS); // Flushed, so the response carries the new version
+            productCache.invalidateAfterCommit(productRequestDTO.id());
+            responseCache.invalidateAfterCommit(productRequestDTO.id());
+            stockLedgerWriter.record(productRequestDTO.id(), quantityOf(foundProduct) - previousQuantity, StockMovementReason.UPDATED);
+            indexAfterCommit(foundProduct);
+            catalogVersion.bumpBeforeCommit();
+            stockAlertEngine.onChangeAfterCommit(updatedProduct.id(), updatedProduct.version(), quantityOf(foundProduct), updatedProduct.reorderThreshold());
+            changeFeed.publishAfterCommit(ProductChangeType.UPDATED, updatedProduct.id(), updatedProduct.version(), updatedProduct.withSelfLink(null)); // Links need a request, the feed has none
+            valuation.onChangeAfterCommit(previousValue, valueOf(foundProduct));
             logger.info("Product with ID: {} updated successfully.", productRequestDTO.id());
             return updatedProduct;
         }
@@ -61,18 +160,226 @@ public class ProductServiceImpl implements ProductService {
         throw new ProductNotFoundException("Product with ID: " + productRequestDTO.id() + " not found.");
     }
 
+    @Override
+    public ProductBulkResponseDTO bulkUpsert(List<ProductRequestDTO> productRequestDTOList) {
+        logger.info("Bulk writing {} products.", productRequestDTOList.size());
+        List<ProductBulkErrorDTO> errors = new ArrayList<>();
+        List<BulkItem> validItems = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        for (int index = 0; index < productRequestDTOList.size(); index++) { // Per-item validation, same rules as the single endpoints
+            ProductRequestDTO productRequestDTO = productRequestDTOList.get(index);
+            Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(productRequestDTO);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                errors.add(new ProductBulkErrorDTO(index, productRequestDTO.name(), message));
+            } else if (!names.add(productRequestDTO.name())) {
+                errors.add(new ProductBulkErrorDTO(index, productRequestDTO.name(), "Duplicate product name in request."));
+            } else {
+                validItems.add(new BulkItem(index, productRequestDTO));
+            }
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (int start = 0; start < validItems.size(); start += bulkBatchSize) {
+            List<BulkItem> chunk = validItems.subList(start, Math.min(start + bulkBatchSize, validItems.size()));
+            try {
+                BulkChunkResult result = transactionTemplate.execute(status -> writeChunk(chunk)); // One transaction per chunk, a failure only rejects its own items
+                result.writtenIds().forEach(productCache::invalidate);
+                result.writtenIds().forEach(responseCache::invalidate);
+                errors.addAll(result.errors());
+                created += result.created();
+                updated += result.updated();
+            } catch (DataAccessException | PersistenceException exception) {
+                String message = "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(exception).getMessage();
+                logger.warn("Bulk chunk of {} products rejected: {}", chunk.size(), message);
+                chunk.forEach(item -> errors.add(new ProductBulkErrorDTO(item.index(), item.product().name(), message)));
+            } finally {
+                entityManager.clear(); // The request-scoped persistence context would otherwise keep every written product
+            }
+        }
+
+        errors.sort((first, second) -> Integer.compare(first.index(), second.index()));
+        logger.info("Bulk write finished: {} created, {} updated, {} failed.", created, updated, errors.size());
+        return new ProductBulkResponseDTO(productRequestDTOList.size(), created, updated, errors.size(), errors);
+    }
+
+    // Method writes one chunk with a single lookup per kind and lets Hibernate send the inserts/updates as JDBC batches
+    private BulkChunkResult writeChunk(List<BulkItem> chunk) {
+        List<ProductBulkErrorDTO> errors = new ArrayList<>();
+        Set<Long> ids = chunk.stream()
+                .map(item -> item.product().id())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> existingById = repository.findAllByIdForUpdate(ids).stream() // Locked, so the reserved units checked below cannot grow before the commit
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<String, Long> idByName = repository.findByNameIn(chunk.stream().map(item -> item.product().name()).toList()).stream()
+                .collect(Collectors.toMap(Product::getName, Product::getId));
+
+        List<Product> newProducts = new ArrayList<>();
+        List<Product> updatedProducts = new ArrayList<>();
+        List<Long> writtenIds = new ArrayList<>();
+        int updated = 0;
+        for (BulkItem item : chunk) {
+            ProductRequestDTO productRequestDTO = item.product();
+            Long nameOwner = idByName.get(productRequestDTO.name());
+            if (nameOwner != null && !nameOwner.equals(productRequestDTO.id())) {
+                errors.add(new ProductBulkErrorDTO(item.index(), productRequestDTO.name(), "A product with this name already exists (ID: " + nameOwner + ")."));
+            } else if (productRequestDTO.id() == null) {
+                newProducts.add(new Product(productRequestDTO));
+            } else if (!existingById.containsKey(productRequestDTO.id())) {
+                errors.add(new ProductBulkErrorDTO(item.index(), productRequestDTO.name(), "Product with ID: " + productRequestDTO.id() + " not found."));
+            } else {
+                Product foundProduct = existingById.get(productRequestDTO.id()); // Managed entity, changes are flushed with the batch
+                String heldError = heldUnitsError(productRequestDTO, foundProduct);
+                if (heldError != null) {
+                    errors.add(new ProductBulkErrorDTO(item.index(), productRequestDTO.name(), heldError));
+                    continue;
+                }
+                long previousQuantity = quantityOf(foundProduct);
+                InventoryValuation.StockValue previousValue = valueOf(foundProduct);
+                foundProduct.setName(productRequestDTO.name());
+                foundProduct.setDescription(productRequestDTO.description());
+                foundProduct.setPrice(productRequestDTO.price());
+                foundProduct.setQuantity(productRequestDTO.quantity());
+                foundProduct.setReorderThreshold(productRequestDTO.reorderThreshold());
+                stockLedgerWriter.record(foundProduct.getId(), quantityOf(foundProduct) - previousQuantity, StockMovementReason.UPDATED);
+                valuation.onChangeAfterCommit(previousValue, valueOf(foundProduct));
+                indexAfterCommit(foundProduct);
+                writtenIds.add(foundProduct.getId());
+                updatedProducts.add(foundProduct);
+                updated++;
+            }
+        }
+
+        repository.saveAll(newProducts);
+        entityManager.flush();
+        newProducts.forEach(product -> {
+            writtenIds.add(product.getId());
+            stockLedgerWriter.record(product.getId(), quantityOf(product), StockMovementReason.CREATED); // Queued only if the chunk commits
+            valuation.onChangeAfterCommit(null, valueOf(product));
+            indexAfterCommit(product);
+        });
+        updatedProducts.forEach(product -> afterChunkCommit(ProductChangeType.UPDATED, product)); // After the flush, so the versions are the committed ones
+        newProducts.forEach(product -> afterChunkCommit(ProductChangeType.CREATED, product));
+        if (!writtenIds.isEmpty()) catalogVersion.bumpBeforeCommit(); // Once per chunk, not per product
+        return new BulkChunkResult(newProducts.size(), updated, writtenIds, errors);
+    }
+
+    // Method returns why the requested quantity cannot be written, or null when it covers every unit held by reservations
+    private static String heldUnitsError(ProductRequestDTO productRequestDTO, Product product) {
+        long quantity = productRequestDTO.quantity() != null ? productRequestDTO.quantity() : 0;
+        if (quantity >= product.getReserved()) return null;
+        return "Quantity " + quantity + " is below the " + product.getReserved() + " units held by reservations of product with ID: " + product.getId() + ".";
+    }
+
+    private void indexAfterCommit(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        String description = product.getDescription();
+        TransactionHooks.afterCommit(() -> searchIndex.index(id, name, description));
+    }
+
+    private void afterChunkCommit(ProductChangeType type, Product product) {
+        stockAlertEngine.onChangeAfterCommit(product.getId(), product.getVersion(), quantityOf(product), product.getReorderThreshold());
+        changeFeed.publishAfterCommit(type, product.getId(), product.getVersion(), new ProductResponseDTO(product));
+    }
+
+    private record BulkItem(int index, ProductRequestDTO product) {
+    }
+
+    private record BulkChunkResult(int created, int updated, List<Long> writtenIds, List<ProductBulkErrorDTO> errors) {
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction, so an import commits its checkpoint with the products
+    public ProductBulkResponseDTO upsertByName(List<ProductRequestDTO> productRequestDTOList) {
+        int created = 0;
+        Set<String> written = new HashSet<>();
+        List<ProductUpsertRepository.UpsertedProduct> upsertedProducts = upsertRepository.upsertByName(productRequestDTOList);
+        for (ProductUpsertRepository.UpsertedProduct upserted : upsertedProducts) {
+            ProductResponseDTO product = upserted.product();
+            written.add(product.name());
+            long previousQuantity = upserted.previousQuantity() != null ? upserted.previousQuantity() : 0;
+            InventoryValuation.StockValue previousValue = upserted.inserted() || upserted.previousPrice() == null
+                    ? null : valuation.valueOf(upserted.previousPrice(), previousQuantity);
+            if (upserted.inserted()) created++;
+
+            productCache.invalidateAfterCommit(product.id());
+            responseCache.invalidateAfterCommit(product.id());
+            stockLedgerWriter.record(product.id(), product.quantity() - previousQuantity, upserted.inserted() ? StockMovementReason.CREATED : StockMovementReason.IMPORTED);
+            TransactionHooks.afterCommit(() -> searchIndex.index(product.id(), product.name(), product.description()));
+            stockAlertEngine.onChangeAfterCommit(product.id(), product.version(), product.quantity(), product.reorderThreshold());
+            changeFeed.publishAfterCommit(upserted.inserted() ? ProductChangeType.CREATED : ProductChangeType.UPDATED, product.id(), product.version(), product);
+            valuation.onChangeAfterCommit(previousValue, valuation.valueOf(product.price(), product.quantity()));
+        }
+        if (!upsertedProducts.isEmpty()) catalogVersion.bumpBeforeCommit(); // Once per batch, not per product
+
+        List<ProductBulkErrorDTO> errors = new ArrayList<>();
+        for (int index = 0; index < productRequestDTOList.size(); index++) { // The upsert skips existing products whose new quantity is below their held units
+            ProductRequestDTO productRequestDTO = productRequestDTOList.get(index);
+            if (!written.contains(productRequestDTO.name())) {
+                errors.add(new ProductBulkErrorDTO(index, productRequestDTO.name(), "Quantity " + productRequestDTO.quantity() + " is below the units held by reservations of the product."));
+            }
+        }
+        return new ProductBulkResponseDTO(productRequestDTOList.size(), created, upsertedProducts.size() - created, errors.size(), errors);
+    }
+
+    @Override
+    @Transactional
+    public StockAdjustmentResponseDTO adjustStock(Long id, long delta, StockMovementReason reason) {
+        logger.info("Adjusting stock of product with ID: {} by {}.", id, delta);
+        return adjust(id, delta, 0, reason);
+    }
+
+    // Method takes committed reservation units out of the stock and out of the held units in one statement
+    @Override
+    @Transactional
+    public StockAdjustmentResponseDTO consumeReserved(Long id, long quantity) {
+        logger.info("Consuming {} held units of product with ID: {}.", quantity, id);
+        return adjust(id, -quantity, quantity, StockMovementReason.RESERVATION_COMMITTED);
+    }
+
+    private StockAdjustmentResponseDTO adjust(Long id, long delta, long released, StockMovementReason reason) {
+        Optional<ProductRepository.AdjustedStock> adjustedStock = repository.adjustQuantity(id, delta, released);
+
+        if (adjustedStock.isEmpty()) { // No row changed, either the product does not exist or the guard rejected the delta
+            if (!repository.existsById(id)) {
+                logger.info("Product with ID: {} not found for stock adjustment.", id);
+                throw new ProductNotFoundException("Product with ID: " + id + " not found.");
+            }
+            logger.info("Insufficient available stock for product with ID: {} to apply delta {}.", id, delta);
+            throw new InsufficientStockException("Insufficient available stock for product with ID: " + id + " to apply a delta of " + delta + " (units held by reservations are not available).");
+        }
+
+        productCache.invalidateAfterCommit(id);
+        responseCache.invalidateAfterCommit(id);
+        catalogVersion.bumpBeforeCommit();
+        stockLedgerWriter.record(id, delta, reason);
+        long newQuantity = adjustedStock.get().getQuantity();
+        double price = adjustedStock.get().getPrice();
+        valuation.onChangeAfterCommit(valuation.valueOf(price, newQuantity - delta), valuation.valueOf(price, newQuantity));
+        stockAlertEngine.onChangeAfterCommit(id, adjustedStock.get().getVersion(), newQuantity, adjustedStock.get().getReorderThreshold());
+        changeFeed.publishAfterCommit(ProductChangeType.UPDATED, id, adjustedStock.get().getVersion(), null); // The feed sends the product as cached once the commit invalidated it
+        logger.info("Stock of product with ID: {} adjusted successfully to {}.", id, newQuantity);
+        return new StockAdjustmentResponseDTO(id, newQuantity);
+    }
+
     @Override
     public ProductResponseDTO findById(Long id) {
         logger.info("Searching for product with ID: {}", id);
-        Optional<Product> optionalProduct = repository.findById(id);
+        Optional<ProductResponseDTO> optionalProduct = productCache.findById(id);
 
         if (optionalProduct.isPresent()) {
-            Product foundProduct = optionalProduct.get();
-
-            foundProduct.add(linkTo(methodOn(ProductController.class).findById(id)).withSelfRel()); // Adding link hateoas
+            ProductResponseDTO foundProduct = optionalProduct.get()
+                    .withSelfLink(ControllerLinks.PRODUCT); // Adding link hateoas
 
-            logger.info("Product with ID: {} found successfully.", foundProduct.getId());
-            return new ProductResponseDTO(foundProduct);
+            logger.info("Product with ID: {} found successfully.", foundProduct.id());
+            return foundProduct;
         } else {
             logger.info("Product with ID: {} not found.", id);
             throw new ProductNotFoundException("Product with ID: " + id + " not found.");
@@ -80,28 +387,92 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public List<ProductResponseDTO> listAll() {
+    @Transactional(readOnly = true) // Keeps the database cursor open while the products are consumed
+    public long listAll(Consumer<ProductResponseDTO> action) {
         logger.info("Listing all registered products.");
-        List<Product> productList = repository.findAll();
+        long listed = stream(product -> action.accept(product.withSelfLink(ControllerLinks.PRODUCTS))); // Adding link hateoas
+        logger.info("Total products found: {}", listed);
+        return listed;
+    }
 
-        productList.forEach(product -> product.add(linkTo(methodOn(ProductController.class).listAll()).withSelfRel())); // Adding link hateoas
+    @Override
+    public List<ProductResponseDTO> listPage(Long after, int limit) {
+        logger.info("Listing products after ID: {} (limit: {}).", after, limit);
+        Long cursor = after != null ? after : Long.MIN_VALUE; // No cursor means the first page
+        List<Product> productList = repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit));
 
-        logger.info("Total products found: {}", productList.size());
+        logger.info("Total products found in page: {}", productList.size());
         return productList.stream()
-                .map(ProductResponseDTO::new)
+                .map(product -> new ProductResponseDTO(product).withSelfLink(ControllerLinks.PRODUCT)) // Adding link hateoas
                 .collect(Collectors.toList());
     }
 
     @Override
+    public ProductSearchResponseDTO search(String query, int page, int size) {
+        logger.info("Searching products matching \"{}\" (page: {}, size: {}).", query, page, size);
+        ProductSearchIndex.SearchPage searchPage = searchIndex.search(query, page, size);
+
+        Map<Long, Product> productsById = repository.findAllById(searchPage.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponseDTO> products = searchPage.productIds().stream() // Keeps the ranking of the index
+                .map(productsById::get)
+                .filter(Objects::nonNull) // Deleted between the lookup and the load
+                .map(product -> new ProductResponseDTO(product).withSelfLink(ControllerLinks.PRODUCT)) // Adding link hateoas
+                .toList();
+
+        logger.info("Total products matching \"{}\": {}", query, searchPage.total());
+        return new ProductSearchResponseDTO(query, page, size, searchPage.total(), searchPage.truncated(), products);
+    }
+
+    @Override
+    @Transactional(readOnly = true) // Keeps the database cursor open while the products are consumed
+    public long streamAll(Consumer<ProductResponseDTO> action) {
+        logger.info("Streaming all registered products.");
+        long streamed = stream(action);
+        logger.info("Total products streamed: {}", streamed);
+        return streamed;
+    }
+
+    // Method reads the whole catalog through a database cursor, handing each product over as soon as it is read
+    private long stream(Consumer<ProductResponseDTO> action) {
+        AtomicLong streamed = new AtomicLong();
+        try (Stream<Product> productStream = repository.streamAll()) {
+            productStream.forEach(product -> {
+                action.accept(new ProductResponseDTO(product));
+                entityManager.detach(product); // Releases the row from the persistence context, so memory stays flat
+                streamed.incrementAndGet();
+            });
+        }
+        return streamed.get();
+    }
+
+    @Override
+    @Transactional
     public void delete(Long id) {
         logger.info("Deleting product with ID: {}", id);
-        Optional<Product> optionalProduct = repository.findById(id);
-        if (optionalProduct.isPresent()) {
-            repository.deleteById(id);
+        Optional<ProductRepository.DeletedProduct> deletedProduct = repository.deleteReturning(id); // Of concurrent deletes, only the one that removed the row gets it back
+        if (deletedProduct.isPresent()) {
+            long quantity = deletedProduct.get().getQuantity() != null ? deletedProduct.get().getQuantity() : 0;
+            productCache.invalidateAfterCommit(id);
+            responseCache.invalidateAfterCommit(id);
+            stockLedgerWriter.record(id, -quantity, StockMovementReason.DELETED);
+            valuation.onChangeAfterCommit(valuation.valueOf(deletedProduct.get().getPrice(), quantity), null);
+            TransactionHooks.afterCommit(() -> searchIndex.remove(id));
+            catalogVersion.bumpBeforeCommit();
+            TransactionHooks.afterCommit(() -> stockAlertEngine.remove(id));
+            changeFeed.publishAfterCommit(ProductChangeType.DELETED, id, deletedProduct.get().getVersion() + 1, null); // Outranks every update of the product
             logger.info("Product with ID: {} deleted successfully.", id);
         } else {
             logger.info("Product with ID: {} not found.", id);
             throw new ProductNotFoundException("Product with ID: " + id + " not found.");
         }
     }
+
+    private InventoryValuation.StockValue valueOf(Product product) {
+        return valuation.valueOf(product.getPrice(), product.getQuantity());
+    }
+
+    private static long quantityOf(Product product) {
+        return product.getQuantity() != null ? product.getQuantity() : 0;
+    }
 }
@@ -0,0 +1,22 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.reservationDtos.ReservationRequestDTO;
+import com.stockflow.dto.reservationDtos.ReservationResponseDTO;
+import com.stockflow.dto.reservationDtos.StockAvailabilityResponseDTO;
+
+import java.util.UUID;
+
+public interface ReservationService {
+
+    ReservationResponseDTO hold(ReservationRequestDTO reservationRequestDTO);
+
+    ReservationResponseDTO commit(UUID id);
+
+    ReservationResponseDTO release(UUID id);
+
+    ReservationResponseDTO findById(UUID id);
+
+    StockAvailabilityResponseDTO availability(Long productId);
+
+    int expireStaleHolds();
+}
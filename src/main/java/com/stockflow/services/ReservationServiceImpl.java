@@ -0,0 +1,161 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.reservationDtos.ReservationRequestDTO;
+import com.stockflow.dto.reservationDtos.ReservationResponseDTO;
+import com.stockflow.dto.reservationDtos.StockAvailabilityResponseDTO;
+import com.stockflow.exceptions.InsufficientStockException;
+import com.stockflow.exceptions.ProductNotFoundException;
+import com.stockflow.exceptions.ReservationNotActiveException;
+import com.stockflow.exceptions.ReservationNotFoundException;
+import com.stockflow.model.reservation.ReservationStatus;
+import com.stockflow.model.reservation.StockReservation;
+import com.stockflow.repositories.ProductRepository;
+import com.stockflow.repositories.StockReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationServiceImpl.class);
+    private static final int EXPIRY_BATCH_SIZE = 500;
+    private final StockReservationRepository repository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration defaultHold;
+    private final Duration maxHold;
+
+    public ReservationServiceImpl(StockReservationRepository repository,
+                                  ProductRepository productRepository,
+                                  ProductService productService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${api.reservation.default-hold:5m}") Duration defaultHold,
+                                  @Value("${api.reservation.max-hold:30m}") Duration maxHold) {
+        this.repository = repository;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultHold = defaultHold;
+        this.maxHold = maxHold;
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponseDTO hold(ReservationRequestDTO reservationRequestDTO) {
+        Long productId = reservationRequestDTO.productId();
+        long quantity = reservationRequestDTO.quantity();
+        logger.info("Holding {} units of product with ID: {}.", quantity, productId);
+
+        Instant now = Instant.now();
+        StockReservation reservation = repository.saveAndFlush(new StockReservation(productId, quantity, now, now.plus(holdDuration(reservationRequestDTO))));
+
+        // Last statement of the transaction, so the product row is locked only for this UPDATE and the commit; a failure rolls the reservation back
+        if (productRepository.reserve(productId, quantity) == 0) { // Checked against the committed stock, not a cached copy
+            if (!productRepository.existsById(productId)) {
+                throw new ProductNotFoundException("Product with ID: " + productId + " not found.");
+            }
+            logger.info("Insufficient available stock to hold {} units of product with ID: {}.", quantity, productId);
+            throw new InsufficientStockException("Insufficient available stock for product with ID: " + productId + " to hold " + quantity + " units.");
+        }
+        logger.info("Reservation with ID: {} created successfully.", reservation.getId());
+        return new ReservationResponseDTO(reservation);
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponseDTO commit(UUID id) {
+        logger.info("Committing reservation with ID: {}.", id);
+        StockReservation reservation = findReservation(id);
+        if (reservation.getExpiresAt().isBefore(Instant.now())) {
+            throw new ReservationNotActiveException("Reservation with ID: " + id + " has expired.");
+        }
+        transition(reservation, ReservationStatus.COMMITTED);
+
+        productService.consumeReserved(reservation.getProductId(), reservation.getQuantity()); // Stock and held units drop together, rolls the commit back if the product is gone
+
+        logger.info("Reservation with ID: {} committed successfully.", id);
+        return new ReservationResponseDTO(reservation).withStatus(ReservationStatus.COMMITTED);
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponseDTO release(UUID id) {
+        logger.info("Releasing reservation with ID: {}.", id);
+        StockReservation reservation = findReservation(id);
+        transition(reservation, ReservationStatus.RELEASED);
+        unreserve(reservation);
+
+        logger.info("Reservation with ID: {} released successfully.", id);
+        return new ReservationResponseDTO(reservation).withStatus(ReservationStatus.RELEASED);
+    }
+
+    @Override
+    public ReservationResponseDTO findById(UUID id) {
+        logger.info("Searching for reservation with ID: {}.", id);
+        return new ReservationResponseDTO(findReservation(id));
+    }
+
+    @Override
+    public StockAvailabilityResponseDTO availability(Long productId) {
+        ProductRepository.StockLevel stockLevel = productRepository.findStockLevel(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product with ID: " + productId + " not found."));
+        long stock = stockLevel.getQuantity();
+        long reserved = stockLevel.getReserved();
+        return new StockAvailabilityResponseDTO(productId, stock, reserved, Math.max(0, stock - reserved));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${api.reservation.expiry-interval:PT30S}")
+    public int expireStaleHolds() {
+        int expired = 0;
+        List<StockReservation> staleReservations;
+        do {
+            staleReservations = repository.findByStatusAndExpiresAtBefore(ReservationStatus.ACTIVE, Instant.now(), Limit.of(EXPIRY_BATCH_SIZE));
+            for (StockReservation reservation : staleReservations) {
+                Boolean expiredNow = transactionTemplate.execute(status -> { // The status change and the units given back commit together
+                    if (repository.transition(reservation.getId(), ReservationStatus.ACTIVE, ReservationStatus.EXPIRED) == 0) return false;
+                    unreserve(reservation);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(expiredNow)) expired++;
+            }
+        } while (staleReservations.size() == EXPIRY_BATCH_SIZE);
+
+        if (expired > 0) logger.info("Expired {} stale stock reservations.", expired);
+        return expired;
+    }
+
+    private StockReservation findReservation(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation with ID: " + id + " not found."));
+    }
+
+    private void transition(StockReservation reservation, ReservationStatus to) {
+        if (repository.transition(reservation.getId(), ReservationStatus.ACTIVE, to) == 0) { // Lost the race to another commit/release/expiry
+            throw new ReservationNotActiveException("Reservation with ID: " + reservation.getId() + " is no longer active.");
+        }
+    }
+
+    private void unreserve(StockReservation reservation) {
+        productRepository.unreserve(reservation.getProductId(), reservation.getQuantity());
+    }
+
+    private Duration holdDuration(ReservationRequestDTO reservationRequestDTO) {
+        if (reservationRequestDTO.holdSeconds() == null) return defaultHold;
+        Duration requested = Duration.ofSeconds(reservationRequestDTO.holdSeconds());
+        return requested.compareTo(maxHold) > 0 ? maxHold : requested;
+    }
+}
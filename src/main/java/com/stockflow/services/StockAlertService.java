@@ -0,0 +1,13 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.alertDtos.LowStockResponseDTO;
+import com.stockflow.dto.alertDtos.StockAlertResponseDTO;
+
+import java.util.List;
+
+public interface StockAlertService {
+
+    List<LowStockResponseDTO> listLowStock(boolean includeNear, int limit);
+
+    List<StockAlertResponseDTO> listRecentAlerts(int limit);
+}
@@ -0,0 +1,42 @@
+package com.stockflow.services;
+
+import com.stockflow.alerting.InMemoryStockAlertSink;
+import com.stockflow.alerting.StockAlertEngine;
+import com.stockflow.dto.alertDtos.LowStockResponseDTO;
+import com.stockflow.dto.alertDtos.StockAlertResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class StockAlertServiceImpl implements StockAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertServiceImpl.class);
+    private final StockAlertEngine engine;
+    private final InMemoryStockAlertSink recentAlerts;
+
+    public StockAlertServiceImpl(StockAlertEngine engine, InMemoryStockAlertSink recentAlerts) {
+        this.engine = engine;
+        this.recentAlerts = recentAlerts;
+    }
+
+    @Override
+    public List<LowStockResponseDTO> listLowStock(boolean includeNear, int limit) {
+        logger.info("Listing products with low stock (include near: {}, limit: {}).", includeNear, limit);
+        List<LowStockResponseDTO> lowStock = engine.lowStock(includeNear, limit).stream()
+                .map(LowStockResponseDTO::new)
+                .toList();
+        logger.info("Total products with low stock found: {}", lowStock.size());
+        return lowStock;
+    }
+
+    @Override
+    public List<StockAlertResponseDTO> listRecentAlerts(int limit) {
+        logger.info("Listing the {} most recent stock alerts.", limit);
+        return recentAlerts.recent(limit).stream()
+                .map(StockAlertResponseDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,16 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.ledgerDtos.StockLevelResponseDTO;
+import com.stockflow.dto.ledgerDtos.StockMovementResponseDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockLedgerService {
+
+    List<StockMovementResponseDTO> listMovements(Long productId, Long before, int limit);
+
+    StockLevelResponseDTO quantityAsOf(Long productId, Instant asOf);
+
+    int takeSnapshots();
+}
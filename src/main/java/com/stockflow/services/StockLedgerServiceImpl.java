@@ -0,0 +1,140 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.ledgerDtos.StockLevelResponseDTO;
+import com.stockflow.dto.ledgerDtos.StockMovementResponseDTO;
+import com.stockflow.model.ledger.StockMovement;
+import com.stockflow.model.ledger.StockMovementReason;
+import com.stockflow.model.ledger.StockSnapshot;
+import com.stockflow.repositories.StockLedgerStateRepository;
+import com.stockflow.repositories.StockMovementRepository;
+import com.stockflow.repositories.StockSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerServiceImpl.class);
+    private static final String SYSTEM_USERNAME = "system";
+    private static final long SNAPSHOT_LOCK_KEY = 0x5354_4f43_4b53_4e50L; // "STOCKSNP"
+    private final StockMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockLedgerStateRepository stateRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StockLedgerServiceImpl(StockMovementRepository movementRepository,
+                                  StockSnapshotRepository snapshotRepository,
+                                  StockLedgerStateRepository stateRepository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${api.jpa.batch-size:500}") int batchSize) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.stateRepository = stateRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager); // Read-write, so every read below goes to the primary
+        this.batchSize = batchSize;
+    }
+
+    // Method gives products registered before the ledger existed an opening movement, only the first startup that claims the ledger state does it
+    @PostConstruct
+    public void recordOpeningBalances() {
+        Integer recorded = transactionTemplate.execute(status -> {
+            if (stateRepository.claimOpeningBalances() == 0) return 0; // Recorded by an earlier startup, later products get their movements when they are written
+
+            Instant now = Instant.now();
+            Long after = Long.MIN_VALUE;
+            int count = 0;
+            List<StockMovementRepository.MovementTotal> products;
+            do {
+                products = movementRepository.findProductsWithoutMovements(after, Limit.of(batchSize));
+                movementRepository.saveAll(products.stream()
+                        .map(product -> new StockMovement(product.getProductId(), product.getDelta(), StockMovementReason.OPENING_BALANCE, SYSTEM_USERNAME, now))
+                        .toList());
+                entityManager.flush();
+                entityManager.clear(); // Keeps the persistence context to one batch
+                if (!products.isEmpty()) after = products.get(products.size() - 1).getProductId();
+                count += products.size();
+            } while (products.size() == batchSize);
+            return count;
+        });
+
+        if (recorded != null && recorded > 0) logger.info("Recorded opening stock balances for {} products.", recorded);
+    }
+
+    @Override
+    public List<StockMovementResponseDTO> listMovements(Long productId, Long before, int limit) {
+        logger.info("Listing stock movements of product with ID: {} before ID: {}.", productId, before);
+        Long cursor = before != null ? before : Long.MAX_VALUE; // No cursor means the most recent movements
+        return movementRepository.findByProductIdAndIdLessThanOrderByIdDesc(productId, cursor, Limit.of(limit)).stream()
+                .map(StockMovementResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public StockLevelResponseDTO quantityAsOf(Long productId, Instant asOf) {
+        logger.info("Computing stock of product with ID: {} as of {}.", productId, asOf);
+        Optional<StockSnapshot> snapshot = snapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, asOf);
+        long baseQuantity = snapshot.map(StockSnapshot::getQuantity).orElse(0L);
+        Instant takenAt = snapshot.map(StockSnapshot::getTakenAt).orElse(Instant.EPOCH);
+        long coveredTransactionId = snapshot.map(StockLedgerServiceImpl::coveredTransactionId).orElse(0L);
+
+        long quantity = baseQuantity + movementRepository.sumDeltaNotIn(productId, takenAt, coveredTransactionId, asOf); // Only the movements the snapshot left out are replayed
+        return new StockLevelResponseDTO(productId, quantity, asOf);
+    }
+
+    // Method snapshots every product that moved since the last run. A snapshot covers the movements of transactions that had ended when it was
+    // taken, so a movement committed late is picked up by the next run instead of being skipped by a wall-clock cut-off.
+    @Override
+    @Scheduled(fixedDelayString = "${api.ledger.snapshot-interval:PT15M}", initialDelayString = "${api.ledger.snapshot-interval:PT15M}")
+    public int takeSnapshots() {
+        Integer taken = transactionTemplate.execute(status -> {
+            if (!snapshotRepository.tryLock(SNAPSHOT_LOCK_KEY)) return 0; // Another instance is taking them
+
+            Optional<StockSnapshot> latest = snapshotRepository.findFirstByOrderByTakenAtDesc();
+            Instant from = latest.map(StockSnapshot::getTakenAt).orElse(Instant.EPOCH);
+            long fromTransactionId = latest.map(StockLedgerServiceImpl::coveredTransactionId).orElse(0L);
+            long toTransactionId = movementRepository.findCompletedTransactionCursor();
+            Instant to = Instant.now();
+            if (!to.isAfter(from)) return 0;
+
+            List<StockMovementRepository.MovementTotal> totals = movementRepository.sumDeltaByProductSince(from, fromTransactionId, to, toTransactionId);
+            for (int start = 0; start < totals.size(); start += batchSize) {
+                List<StockMovementRepository.MovementTotal> chunk = totals.subList(start, Math.min(start + batchSize, totals.size()));
+                List<Long> productIds = chunk.stream().map(StockMovementRepository.MovementTotal::getProductId).toList();
+                Map<Long, Long> previousQuantities = snapshotRepository.findLatestByProductIdIn(productIds, from).stream()
+                        .collect(Collectors.toMap(StockSnapshot::getProductId, StockSnapshot::getQuantity));
+                snapshotRepository.saveAll(chunk.stream()
+                        .map(total -> new StockSnapshot(total.getProductId(), previousQuantities.getOrDefault(total.getProductId(), 0L) + total.getDelta(), to, toTransactionId))
+                        .toList());
+                entityManager.flush();
+                entityManager.clear();
+            }
+
+            if (!totals.isEmpty()) logger.info("Took stock snapshots of {} products as of {}.", totals.size(), to);
+            return totals.size();
+        });
+        return taken != null ? taken : 0;
+    }
+
+    // Snapshots taken before the cursor existed cover every movement created up to their instant
+    private static long coveredTransactionId(StockSnapshot snapshot) {
+        return snapshot.getCoveredTransactionId() != null ? snapshot.getCoveredTransactionId() : Long.MAX_VALUE;
+    }
+}
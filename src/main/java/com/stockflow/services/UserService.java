@@ -3,8 +3,8 @@ package com.stockflow.services;
 import com.stockflow.dto.userDtos.UserRequestDTO;
 import com.stockflow.dto.userDtos.UserResponseDTO;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -14,7 +14,7 @@ public interface UserService {
 
     UserResponseDTO findById(UUID id);
 
-    List<UserResponseDTO> listAll();
+    long listAll(Consumer<UserResponseDTO> action);
 
     void delete(UUID id);
 }
@@ -1,23 +1,23 @@
 package com.stockflow.services;
 
-import com.stockflow.controllers.UserController;
 import com.stockflow.dto.userDtos.UserRequestDTO;
 import com.stockflow.dto.userDtos.UserResponseDTO;
 import com.stockflow.exceptions.UserNotFoundException;
+import com.stockflow.hateoas.ControllerLinks;
 import com.stockflow.model.user.User;
 import com.stockflow.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -25,10 +25,12 @@ public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
 
-    public UserServiceImpl(UserRepository repository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository repository, PasswordEncoder passwordEncoder, EntityManager entityManager) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -39,15 +41,14 @@ public class UserServiceImpl implements UserService {
         User newUser = new User(userRequestDTO);
         newUser.setPassword(encryptedPassword);
 
-        newUser.add(linkTo(methodOn(UserController.class).create(userRequestDTO)).withSelfRel()); // Adding link hateoas
-
-        UserResponseDTO createdUser = new UserResponseDTO(repository.save(newUser));
+        UserResponseDTO createdUser = new UserResponseDTO(repository.save(newUser)).withSelfLink(ControllerLinks.USERS); // Adding link hateoas
         logger.info("User created successfully with ID: {}", createdUser.id());
 
         return createdUser;
     }
 
     @Override
+    @Transactional // Reads the user on the primary, the same connection as the write
     public UserResponseDTO update(UserRequestDTO userRequestDTO) {
         logger.info("Updating user with ID: {}.", userRequestDTO.id());
         Optional<User> optionalUser = repository.findById(userRequestDTO.id());
@@ -57,12 +58,10 @@ public class UserServiceImpl implements UserService {
             logger.debug("User found for update: {}", foundUser);
 
             foundUser.setLogin(userRequestDTO.login());
-            foundUser.setPassword(userRequestDTO.password());
+            foundUser.setPassword(passwordEncoder.encode(userRequestDTO.password())); // Stored hashed, as on create
             foundUser.setRole(userRequestDTO.role());
 
-            foundUser.add(linkTo(methodOn(UserController.class).update(userRequestDTO)).withSelfRel()); // Adding link hateoas
-
-            UserResponseDTO updatedUser = new UserResponseDTO(repository.save(foundUser));
+            UserResponseDTO updatedUser = new UserResponseDTO(repository.save(foundUser)).withSelfLink(ControllerLinks.USERS); // Adding link hateoas
             logger.info("User with ID: {} updated successfully.", updatedUser.id());
             return updatedUser;
         } else {
@@ -79,10 +78,8 @@ public class UserServiceImpl implements UserService {
         if (optionalUser.isPresent()) {
             User foundUser = optionalUser.get();
 
-            foundUser.add(linkTo(methodOn(UserController.class).findById(foundUser.getId())).withSelfRel()); // Adding link hateoas
-
             logger.info("User with ID: {} found successfully.", foundUser.getId());
-            return new UserResponseDTO(foundUser);
+            return new UserResponseDTO(foundUser).withSelfLink(ControllerLinks.USER); // Adding link hateoas
         } else {
             logger.error("User with ID: {} not found.", id);
             throw new UserNotFoundException("User with ID: " + id + " not found.");
@@ -90,19 +87,24 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserResponseDTO> listAll() {
+    @Transactional(readOnly = true) // Keeps the database cursor open while the users are consumed
+    public long listAll(Consumer<UserResponseDTO> action) {
         logger.info("Listing all registered users.");
-        List<User> userList = repository.findAll();
-
-        userList.forEach(user -> user.add(linkTo(methodOn(UserController.class).listAll()).withSelfRel())); // Adding link hateoas
+        AtomicLong listed = new AtomicLong();
+        try (Stream<User> userStream = repository.streamAll()) {
+            userStream.forEach(user -> {
+                action.accept(new UserResponseDTO(user).withSelfLink(ControllerLinks.USERS)); // Adding link hateoas
+                entityManager.detach(user); // Releases the row from the persistence context, so memory stays flat
+                listed.incrementAndGet();
+            });
+        }
 
-        logger.info("Total users found: {}.", userList.size());
-        return userList.stream()
-                .map(UserResponseDTO::new)
-                .collect(Collectors.toList());
+        logger.info("Total users found: {}.", listed.get());
+        return listed.get();
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
         logger.info("Deleting user with ID: {}.", id);
         Optional<User> optionalUser = repository.findById(id);
@@ -0,0 +1,8 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.valuationDtos.InventoryValuationResponseDTO;
+
+public interface ValuationService {
+
+    InventoryValuationResponseDTO current();
+}
@@ -0,0 +1,40 @@
+package com.stockflow.services;
+
+import com.stockflow.dto.valuationDtos.InventoryValuationResponseDTO;
+import com.stockflow.dto.valuationDtos.PriceBandResponseDTO;
+import com.stockflow.valuation.InventoryValuation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ValuationServiceImpl implements ValuationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValuationServiceImpl.class);
+    private final InventoryValuation valuation;
+
+    public ValuationServiceImpl(InventoryValuation valuation) {
+        this.valuation = valuation;
+    }
+
+    // Method reads the running totals, its cost does not depend on the size of the catalog
+    @Override
+    public InventoryValuationResponseDTO current() {
+        logger.info("Reading the inventory valuation.");
+        InventoryValuation.Totals totals = valuation.current();
+        long[] bounds = valuation.getBandBoundsCents();
+        List<PriceBandResponseDTO> priceBands = new ArrayList<>(bounds.length + 1);
+        for (int band = 0; band <= bounds.length; band++) {
+            priceBands.add(new PriceBandResponseDTO(
+                    band > 0 ? BigDecimal.valueOf(bounds[band - 1], 2) : null,
+                    band < bounds.length ? BigDecimal.valueOf(bounds[band], 2) : null,
+                    totals.bandCounts()[band]));
+        }
+        return new InventoryValuationResponseDTO(totals.products(), totals.units(), BigDecimal.valueOf(totals.valueCents(), 2),
+                totals.zeroStock(), priceBands, totals.reconciledAt());
+    }
+}
@@ -5,6 +5,11 @@ public class CustomMediaType {
     public static final String APPLICATION_JSON = "application/json";
     public static final String APPLICATION_XML = "application/xml";
     public static final String APPLICATION_YAML = "application/x-yaml";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
     public static final String TEXT_PLAIN = "text/plain";
+    public static final String TEXT_CSV = "text/csv";
+    public static final String TEXT_EVENT_STREAM = "text/event-stream";
     public static final String X_WWW_FORM_URLENCODED = "application/x-www-form-urlencoded";
 }
@@ -0,0 +1,176 @@
+package com.stockflow.valuation;
+
+import com.stockflow.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// Running totals of the catalog (units, value, zero-stock and price band counts), kept in whole cents and updated by every committed product write
+@Component
+@DependsOn("entityManagerFactory") // The startup aggregate needs tb_product, created with the JPA schema
+public class InventoryValuation {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryValuation.class);
+    private static final int RECONCILE_ATTEMPTS = 3;
+    private final JdbcTemplate jdbcTemplate;
+    private final long[] bandBoundsCents;
+    private final String bandBoundsArray;
+    private final Counter correctionCounter;
+
+    // Immutable totals swapped in one step, so a read is a single volatile load and never sees half a change
+    private final AtomicReference<Totals> totals;
+
+    // Incremented before each change is applied, a reconciliation is only kept when no change was applied while it ran
+    private final AtomicLong appliedChanges = new AtomicLong();
+
+    public InventoryValuation(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${api.valuation.price-bands:10,50,100,500}") List<BigDecimal> priceBands) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bandBoundsCents = priceBands.stream().mapToLong(InventoryValuation::toCents).sorted().distinct().toArray();
+        this.bandBoundsArray = Arrays.stream(bandBoundsCents).mapToObj(Long::toString).collect(Collectors.joining(",", "{", "}"));
+        this.totals = new AtomicReference<>(Totals.empty(bandBoundsCents.length + 1, null));
+        this.correctionCounter = Counter.builder("inventory.valuation.corrections")
+                .description("Reconciliations that found the running totals drifted from the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void build() {
+        Totals computed = compute();
+        totals.set(computed);
+        logger.info("Inventory valuation built: {} products, {} units, value {}.", computed.products(), computed.units(), BigDecimal.valueOf(computed.valueCents(), 2));
+    }
+
+    public Totals current() {
+        return totals.get();
+    }
+
+    public long[] getBandBoundsCents() {
+        return bandBoundsCents.clone();
+    }
+
+    // Applies a product write once the surrounding transaction commits (immediate when there is no transaction), null stands for "no product"
+    public void onChangeAfterCommit(StockValue before, StockValue after) {
+        TransactionHooks.afterCommit(() -> apply(before, after));
+    }
+
+    private void apply(StockValue before, StockValue after) {
+        appliedChanges.incrementAndGet();
+        totals.updateAndGet(current -> current.minus(before).plus(after));
+    }
+
+    // Method replaces the running totals with a SQL aggregate, correcting drift (e.g. a change lost to a crash between commit and apply)
+    @Scheduled(fixedDelayString = "${api.valuation.reconcile-interval:PT10M}", initialDelayString = "${api.valuation.reconcile-interval:PT10M}")
+    public void reconcile() {
+        try {
+            for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+                long changesBefore = appliedChanges.get();
+                Totals computed = compute();
+                Totals current = totals.get();
+                if (appliedChanges.get() != changesBefore) continue; // Writes landed while the aggregate ran, it may or may not include them
+                if (totals.compareAndSet(current, computed)) {
+                    if (!computed.sameAs(current)) {
+                        correctionCounter.increment();
+                        logger.warn("Inventory valuation drifted and was corrected: {} products, {} units, value {} (was {} products, {} units, value {}).",
+                                computed.products(), computed.units(), BigDecimal.valueOf(computed.valueCents(), 2),
+                                current.products(), current.units(), BigDecimal.valueOf(current.valueCents(), 2));
+                    }
+                    return;
+                }
+            }
+            logger.info("Inventory valuation reconciliation skipped, the catalog kept changing.");
+        } catch (DataAccessException exception) {
+            logger.error("Failed to reconcile the inventory valuation: {}", exception.getMessage());
+        }
+    }
+
+    // Method aggregates the whole table in one statement on the primary, rounding prices to cents exactly as toCents does
+    private Totals compute() {
+        String band = bandBoundsCents.length == 0 ? "0" : "width_bucket(round(price::numeric * 100), '" + bandBoundsArray + "'::numeric[])";
+        long[] bandCounts = new long[bandBoundsCents.length + 1];
+        long[] sums = new long[4]; // products, zero stock, units, value in cents
+        jdbcTemplate.query("select " + band + " as band, count(*) as products, count(*) filter (where coalesce(quantity, 0) = 0) as zero_stock, " +
+                        "coalesce(sum(quantity), 0) as units, coalesce(sum(round(price::numeric * 100) * coalesce(quantity, 0)), 0) as value_cents " +
+                        "from tb_product group by 1",
+                resultSet -> {
+                    bandCounts[resultSet.getInt("band")] = resultSet.getLong("products");
+                    sums[0] += resultSet.getLong("products");
+                    sums[1] += resultSet.getLong("zero_stock");
+                    sums[2] += resultSet.getLong("units");
+                    sums[3] += resultSet.getLong("value_cents");
+                });
+        return new Totals(sums[0], sums[1], sums[2], sums[3], bandCounts, Instant.now());
+    }
+
+    // Method converts a price to whole cents through its shortest decimal form, so 19.99 is 1999 and never 1998.99...
+    public static long toCents(double price) {
+        return toCents(BigDecimal.valueOf(price));
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private int bandOf(long priceCents) {
+        int position = Arrays.binarySearch(bandBoundsCents, priceCents);
+        return position >= 0 ? position + 1 : -position - 1; // Number of bounds at or below the price
+    }
+
+    public StockValue valueOf(double price, Long quantity) {
+        long priceCents = toCents(price);
+        return new StockValue(priceCents, quantity != null ? quantity : 0, bandOf(priceCents));
+    }
+
+    // Contribution of one product to the totals
+    public record StockValue(long priceCents, long quantity, int band) {
+    }
+
+    public record Totals(long products, long zeroStock, long units, long valueCents, long[] bandCounts, Instant reconciledAt) {
+
+        static Totals empty(int bands, Instant reconciledAt) {
+            return new Totals(0, 0, 0, 0, new long[bands], reconciledAt);
+        }
+
+        Totals plus(StockValue value) {
+            return value != null ? add(value, 1) : this;
+        }
+
+        Totals minus(StockValue value) {
+            return value != null ? add(value, -1) : this;
+        }
+
+        private Totals add(StockValue value, int sign) {
+            long[] counts = bandCounts.clone();
+            counts[value.band()] += sign;
+            return new Totals(products + sign,
+                    zeroStock + (value.quantity() == 0 ? sign : 0),
+                    units + sign * value.quantity(),
+                    valueCents + sign * value.priceCents() * value.quantity(),
+                    counts,
+                    reconciledAt);
+        }
+
+        boolean sameAs(Totals other) {
+            return products == other.products && zeroStock == other.zeroStock && units == other.units
+                    && valueCents == other.valueCents && Arrays.equals(bandCounts, other.bandCounts);
+        }
+    }
+}
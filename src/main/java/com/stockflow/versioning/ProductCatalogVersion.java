@@ -0,0 +1,59 @@
+package com.stockflow.versioning;
+
+import com.stockflow.datasource.DataSourceRouting;
+import com.stockflow.repositories.CatalogVersionRepository;
+import com.stockflow.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Version of the whole product catalog, bumped by every product write in its own transaction so list requests can answer 304 from a small lookup.
+// The version is the sum of a few shard rows, a writer bumps one of them at random, so concurrent writers rarely wait on the same row.
+@Component
+public class ProductCatalogVersion {
+
+    private final CatalogVersionRepository repository;
+    private final int shards;
+    private final Duration replicaStaleness;
+
+    public ProductCatalogVersion(CatalogVersionRepository repository,
+                                 @Value("${api.cache.product.catalog-version-shards:16}") int shards,
+                                 @Value("${api.datasource.replicas.urls:}") String replicaUrls,
+                                 @Value("${api.datasource.replicas.max-lag:5s}") Duration replicaMaxLag,
+                                 @Value("${api.datasource.replicas.health-check-interval:PT5S}") Duration replicaHealthCheckInterval) {
+        this.repository = repository;
+        this.shards = shards;
+        this.replicaStaleness = replicaUrls.isBlank() ? Duration.ZERO : replicaMaxLag.plus(replicaHealthCheckInterval); // Oldest data a replica in rotation can serve
+    }
+
+    @PostConstruct
+    public void start() {
+        repository.createIfMissing(shards);
+    }
+
+    // Read on the primary, so the version is never behind a write the client already saw
+    public Snapshot current() {
+        CatalogVersionRepository.CurrentVersion current = DataSourceRouting.onPrimary(repository::findCurrent)
+                .filter(version -> version.getVersion() != null)
+                .orElseThrow(() -> new IllegalStateException("The product catalog version rows are missing."));
+        return new Snapshot(current.getVersion(), Instant.ofEpochMilli(current.getUpdatedAtMillis()), current.getAgeMillis() / 1000.0);
+    }
+
+    // Method tells whether every replica in rotation has the rows of the version, only then can it tag a list
+    public boolean isSettled(Snapshot catalog) {
+        return catalog.ageSeconds() * 1000 >= replicaStaleness.toMillis();
+    }
+
+    // Method bumps the version right before the surrounding transaction commits, so the bump commits or rolls back with the write.
+    // Once per transaction, and last, so the shard row is locked only while the transaction commits.
+    public void bumpBeforeCommit() {
+        TransactionHooks.beforeCommitOnce(this, () -> repository.bump((short) ThreadLocalRandom.current().nextInt(1, shards + 1)));
+    }
+
+    public record Snapshot(long version, Instant updatedAt, double ageSeconds) {
+    }
+}
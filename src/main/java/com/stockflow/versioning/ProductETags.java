@@ -0,0 +1,45 @@
+package com.stockflow.versioning;
+
+import com.stockflow.dto.productDtos.ProductResponseDTO;
+import org.springframework.http.MediaType;
+
+public class ProductETags {
+
+    public static final long NO_MATCHING_VERSION = -1; // Versions start at 0, so this never equals a stored one
+
+    private ProductETags() {
+    }
+
+    // Strong tag of one representation of a product, its bytes change with the product version, the format and the content coding actually applied
+    public static String of(ProductResponseDTO product, MediaType mediaType, boolean gzip) {
+        return tag(product.id() + "." + product.version(), mediaType, gzip);
+    }
+
+    // Strong tag of one representation of the product collection, changes with every committed write to any product
+    public static String of(ProductCatalogVersion.Snapshot catalog, MediaType mediaType) {
+        return tag("catalog." + catalog.version(), mediaType, false);
+    }
+
+    private static String tag(String version, MediaType mediaType, boolean gzip) {
+        return "\"" + version + "-" + mediaType.getSubtype() + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    // Method reads the version the client expects from an If-Match header, null when any version is accepted
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String prefix = "\"" + id + ".";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(prefix) && candidate.endsWith("\"")) { // Weak tags (W/"...") never match, If-Match uses strong comparison
+                String version = candidate.substring(prefix.length(), candidate.length() - 1);
+                int representation = version.indexOf('-'); // Any representation of a version names that version
+                try {
+                    return Long.parseLong(representation >= 0 ? version.substring(0, representation) : version);
+                } catch (NumberFormatException exception) {
+                    // Not one of our tags, keep looking
+                }
+            }
+        }
+        return NO_MATCHING_VERSION;
+    }
+}
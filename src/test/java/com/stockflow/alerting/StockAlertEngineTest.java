@@ -0,0 +1,106 @@
+package com.stockflow.alerting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockAlertEngineTest {
+
+    private final List<StockAlert> alerts = new CopyOnWriteArrayList<>();
+    private StockAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new StockAlertEngine(null, List.of(alerts::add), new SimpleMeterRegistry(), 20, 100); // The repository is only used by build()
+    }
+
+    // Method waits for the dispatcher to hand every alert to the sink, so it can only be called once per test
+    private List<StockAlertType> raised() throws InterruptedException {
+        engine.stop();
+        return alerts.stream().map(StockAlert::type).toList();
+    }
+
+    @Test
+    void crossingTheThresholdRaisesLowStockOnce() throws InterruptedException {
+        engine.onChange(1L, 1, 50, 10L);
+        engine.onChange(1L, 2, 10, 10L); // At the threshold counts as low
+        engine.onChange(1L, 3, 4, 10L);
+
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK);
+        assertThat(alerts.get(0).quantity()).isEqualTo(10);
+    }
+
+    @Test
+    void reachingZeroRaisesOutOfStock() throws InterruptedException {
+        engine.onChange(1L, 1, 5, 10L);
+        engine.onChange(1L, 2, 0, 10L);
+        engine.onChange(1L, 3, 0, 10L);
+        engine.onChange(2L, 1, 0, 10L); // Straight from untracked to empty
+
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK, StockAlertType.OUT_OF_STOCK, StockAlertType.OUT_OF_STOCK);
+    }
+
+    @Test
+    void goingBackAboveTheThresholdRaisesRestocked() throws InterruptedException {
+        engine.onChange(1L, 1, 3, 10L);
+        engine.onChange(1L, 2, 11, 10L); // Still near, so it stays tracked
+        engine.onChange(2L, 1, 3, 10L);
+        engine.onChange(2L, 2, 500, 10L); // Far above, no longer tracked
+
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK, StockAlertType.RESTOCKED, StockAlertType.LOW_STOCK, StockAlertType.RESTOCKED);
+        assertThat(engine.lowStock(true, 10)).extracting(StockAlertEngine.StockLevel::productId).containsExactly(1L);
+    }
+
+    @Test
+    void raisingTheThresholdAloneCanMakeAProductLow() throws InterruptedException {
+        engine.onChange(1L, 1, 20, 10L);
+        engine.onChange(1L, 2, 20, 25L);
+
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void olderVersionArrivingLateIsIgnored() throws InterruptedException {
+        engine.onChange(1L, 3, 2, 10L);
+        engine.onChange(1L, 2, 40, 10L); // Committed before version 3, applied after it
+
+        assertThat(engine.lowStock(false, 10)).containsExactly(new StockAlertEngine.StockLevel(1L, 2, 10, 3));
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void sameVersionIsAppliedAgain() throws InterruptedException {
+        engine.onChange(1L, 2, 2, 10L);
+        engine.onChange(1L, 2, 8, 10L); // A threshold-only or repeated delivery keeps the version
+
+        assertThat(engine.lowStock(false, 10)).extracting(StockAlertEngine.StockLevel::quantity).containsExactly(8L);
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void lowStockListsTheMostUrgentFirstAndNearOnlyOnRequest() {
+        engine.onChange(1L, 1, 9, 10L); // Headroom -1
+        engine.onChange(2L, 1, 0, 5L); // Headroom -5
+        engine.onChange(3L, 1, 12, 10L); // Near, headroom 2
+        engine.onChange(4L, 1, 13, 10L); // More than 20% above, not tracked
+        engine.onChange(5L, 1, 0, null); // No threshold, never tracked
+
+        assertThat(engine.lowStock(false, 10)).extracting(StockAlertEngine.StockLevel::productId).containsExactly(2L, 1L);
+        assertThat(engine.lowStock(true, 10)).extracting(StockAlertEngine.StockLevel::productId).containsExactly(2L, 1L, 3L);
+        assertThat(engine.lowStock(true, 1)).extracting(StockAlertEngine.StockLevel::productId).containsExactly(2L);
+    }
+
+    @Test
+    void removedProductsAreNoLongerListed() throws InterruptedException {
+        engine.onChange(1L, 1, 1, 10L);
+        engine.remove(1L);
+
+        assertThat(engine.lowStock(true, 10)).isEmpty();
+        assertThat(raised()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+}
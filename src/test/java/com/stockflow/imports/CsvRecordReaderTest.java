@@ -0,0 +1,119 @@
+package com.stockflow.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    private static FileChannel open(String content) throws IOException {
+        Path file = Files.createTempFile("csv-record-reader", ".csv");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) records.add(record);
+        return records;
+    }
+
+    @Test
+    void quotedFieldsKeepCommasEscapedQuotesAndLineBreaks() throws IOException {
+        try (FileChannel channel = open("name,description\n\"Bolt, M6\",\"The \"\"strong\"\" one\nzinc plated\"\n\"\",plain\n")) {
+            assertThat(readAll(new CsvRecordReader(channel, 0))).containsExactly(
+                    List.of("name", "description"),
+                    List.of("Bolt, M6", "The \"strong\" one\nzinc plated"),
+                    List.of("", "plain"));
+        }
+    }
+
+    @Test
+    void crlfBlankLinesAndLastRecordWithoutLineBreak() throws IOException {
+        try (FileChannel channel = open("a,b\r\n\r\n\n1,,\r\n2,x")) {
+            assertThat(readAll(new CsvRecordReader(channel, 0))).containsExactly(
+                    List.of("a", "b"),
+                    List.of("1", "", ""),
+                    List.of("2", "x"));
+        }
+    }
+
+    @Test
+    void multiByteCharactersSplitAcrossBufferReadsStayIntact() throws IOException {
+        String line = "é".repeat(1000); // 2000 bytes plus the line break, an odd length, so some character straddles the 256 KB buffer boundary
+        try (FileChannel channel = open((line + "\n").repeat(200))) {
+            List<List<String>> records = readAll(new CsvRecordReader(channel, 0));
+
+            assertThat(records).hasSize(200);
+            assertThat(records).allSatisfy(record -> assertThat(record).containsExactly(line));
+        }
+    }
+
+    @Test
+    void readerResumesFromAReturnedPosition() throws IOException {
+        try (FileChannel channel = open("name\nfirst\n\"second\nline\"\nthird\n")) {
+            CsvRecordReader reader = new CsvRecordReader(channel, 0);
+            reader.next();
+            reader.next();
+            long afterFirst = reader.position();
+            reader.next();
+            long afterSecond = reader.position();
+
+            assertThat(readAll(new CsvRecordReader(channel, afterFirst))).containsExactly(List.of("second\nline"), List.of("third"));
+            assertThat(readAll(new CsvRecordReader(channel, afterSecond))).containsExactly(List.of("third"));
+            assertThat(afterSecond).isEqualTo("name\nfirst\n\"second\nline\"\n".length());
+        }
+    }
+
+    @Test
+    void positionCountsBytesNotCharacters() throws IOException {
+        try (FileChannel channel = open("café\nnext\n")) {
+            CsvRecordReader reader = new CsvRecordReader(channel, 0);
+            reader.next();
+
+            assertThat(reader.position()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void quoteLeftOpenAtTheEndOfTheFileIsRejectedAndReadingResumesOnTheNextLine() throws IOException {
+        try (FileChannel channel = open("name\nok\n\"never closed,\nmore\n")) {
+            CsvRecordReader reader = new CsvRecordReader(channel, 0);
+            reader.next();
+            reader.next();
+
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(MalformedCsvRecordException.class)
+                    .hasMessageContaining("byte 8");
+            assertThat(readAll(reader)).containsExactly(List.of("more"));
+        }
+    }
+
+    @Test
+    void fieldsAndRecordsOverTheLimitsAreRejected() throws IOException {
+        try (FileChannel channel = open("short,fits\n" + "x".repeat(11) + "\n")) {
+            CsvRecordReader reader = new CsvRecordReader(channel, 0, 10, 100);
+            assertThat(reader.next()).containsExactly("short", "fits");
+            assertThatThrownBy(reader::next).isInstanceOf(MalformedCsvRecordException.class).hasMessageContaining("10 bytes");
+            assertThat(reader.next()).isNull();
+        }
+        try (FileChannel channel = open("aaaa,bbbb,cccc\nok\n")) {
+            CsvRecordReader reader = new CsvRecordReader(channel, 0, 10, 12);
+            assertThatThrownBy(reader::next).isInstanceOf(MalformedCsvRecordException.class).hasMessageContaining("record at byte 0");
+            assertThat(reader.next()).containsExactly("ok");
+            assertThat(reader.position()).isEqualTo(18);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.stockflow.imports;
+
+import com.stockflow.dto.productDtos.ProductRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCsvColumnsTest {
+
+    private final ProductCsvColumns columns = ProductCsvColumns.of(List.of("quantity", "name", "price", "description", "reorderThreshold"));
+
+    @Test
+    void headerColumnsComeInAnyOrderAndCase() {
+        assertThat(ProductCsvColumns.of(List.of("\uFEFFName", " PRICE ", "extra", "Description", "quantity", "reorder_threshold")))
+                .isEqualTo(new ProductCsvColumns(0, 3, 1, 4, 5));
+        assertThat(ProductCsvColumns.of(List.of("name", "description", "price", "quantity")).reorderThreshold()).isEqualTo(-1);
+    }
+
+    @Test
+    void headerWithoutARequiredColumnIsRejected() {
+        assertThatThrownBy(() -> ProductCsvColumns.of(List.of("name", "description", "quantity")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("name, description, price and quantity");
+        assertThatThrownBy(() -> ProductCsvColumns.of(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empty");
+    }
+
+    @Test
+    void recordMapsToARequest() {
+        ProductRequestDTO request = columns.toRequest(List.of(" 12 ", "Bolt", "0.25", "Zinc plated", "5"));
+
+        assertThat(request).isEqualTo(new ProductRequestDTO(null, "Bolt", "Zinc plated", 0.25, 12L, 5L, null));
+    }
+
+    @Test
+    void blankAndMissingValuesAreNull() {
+        ProductRequestDTO request = columns.toRequest(List.of("", "Bolt", "1.5", "  "));
+
+        assertThat(request.quantity()).isNull();
+        assertThat(request.description()).isNull();
+        assertThat(request.reorderThreshold()).isNull(); // Record shorter than the header
+    }
+
+    @Test
+    void valuesThatAreNotNumbersAreRejected() {
+        assertThatThrownBy(() -> columns.toRequest(List.of("1", "Bolt", "cheap", "", "")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("price: 'cheap' is not a number");
+        assertThatThrownBy(() -> columns.toRequest(List.of("1", "Bolt", "NaN", "", "")))
+                .hasMessage("price: 'NaN' is not a number");
+        assertThatThrownBy(() -> columns.toRequest(List.of("1", "Bolt", "", "", "")))
+                .hasMessage("price: Product price is required");
+        assertThatThrownBy(() -> columns.toRequest(List.of("1.5", "Bolt", "2", "", "")))
+                .hasMessage("quantity: '1.5' is not a whole number");
+        assertThatThrownBy(() -> columns.toRequest(List.of("1", "Bolt", "2", "", "-")))
+                .hasMessage("reorderThreshold: '-' is not a whole number");
+    }
+}
@@ -0,0 +1,93 @@
+package com.stockflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitingTurboFilterTest {
+
+    private RateLimitingTurboFilter filter;
+    private Logger logger;
+    private Logger otherLogger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitingTurboFilter();
+        filter.setMaxEvents(2);
+        filter.setIntervalMillis(60_000);
+        LoggerContext context = new LoggerContext();
+        logger = context.getLogger("com.stockflow.services.ProductServiceImpl");
+        otherLogger = context.getLogger("com.stockflow.services.ReservationServiceImpl");
+        logger.setLevel(Level.INFO);
+        otherLogger.setLevel(Level.INFO);
+    }
+
+    private FilterReply warn(Logger target, String format) {
+        return filter.decide(null, target, Level.WARN, format, null, null);
+    }
+
+    @Test
+    void deniesEventsOverTheBudgetOfATemplate() {
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void keepsABudgetPerLoggerAndTemplate() {
+        warn(logger, "Product {} not found");
+        warn(logger, "Product {} not found");
+
+        assertThat(warn(logger, "Product {} out of stock")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(warn(otherLogger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void neverDropsErrorsOrLevelChecks() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter.decide(null, logger, Level.ERROR, "Write lost", null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(null, logger, Level.WARN, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void disabledLevelsDoNotUseUpTheBudget() {
+        logger.setLevel(Level.ERROR);
+        for (int i = 0; i < 5; i++) assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+
+        logger.setLevel(Level.INFO);
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void nextIntervalOpensANewBudget() throws InterruptedException {
+        filter.setIntervalMillis(50);
+        warn(logger, "Product {} not found");
+        warn(logger, "Product {} not found");
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.DENY);
+
+        Thread.sleep(80);
+
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void tooManyTemplatesResetTheWindows() {
+        filter.setMaxTemplates(2);
+        warn(logger, "Product {} not found");
+        warn(logger, "Product {} not found");
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.DENY);
+
+        warn(logger, "Template 2");
+        warn(logger, "Template 3"); // Over the cap, every window starts over
+
+        assertThat(warn(logger, "Product {} not found")).isEqualTo(FilterReply.NEUTRAL);
+    }
+}
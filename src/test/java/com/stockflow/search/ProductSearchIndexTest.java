@@ -0,0 +1,110 @@
+package com.stockflow.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null, 50, 2); // The repository is only used by build()
+    }
+
+    @Test
+    void tokenizeLowercasesStripsAccentsAndSplits() {
+        assertThat(ProductSearchIndex.tokenize("Café-Crème, 500g")).containsExactly("cafe", "creme", "500g");
+        assertThat(ProductSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void tokenizeKeepsLettersAndDigitsOfEveryScript() {
+        assertThat(ProductSearchIndex.tokenize("Чайник Straße-٣")).containsExactly("чаиник", "straße", "٣");
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        index.index(1L, "Desk lamp", "A lamp with a steel arm");
+        index.index(2L, "Steel desk", "Desk for an office");
+        index.index(3L, "Office chair", "Steel frame");
+
+        ProductSearchIndex.SearchPage page = index.search("steel", 0, 10);
+
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.productIds()).containsExactly(2L, 1L, 3L); // Name first, then description matches by ID
+        assertThat(page.truncated()).isFalse();
+    }
+
+    @Test
+    void exactTermRanksAbovePrefixMatch() {
+        index.index(1L, "Cables", "");
+        index.index(2L, "Cable", "");
+
+        assertThat(index.search("cable", 0, 10).productIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void everyQueryWordMustMatchAsPrefix() {
+        index.index(1L, "Wireless mouse", "Black");
+        index.index(2L, "Wired mouse", "White");
+        index.index(3L, "Wireless keyboard", "Black");
+
+        assertThat(index.search("wir mou", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("wireless bla", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("mouse purple", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void pagesKeepTheTotal() {
+        for (long id = 1; id <= 5; id++) index.index(id, "Bolt " + id, "");
+
+        ProductSearchIndex.SearchPage secondPage = index.search("bolt", 1, 2);
+
+        assertThat(secondPage.total()).isEqualTo(5);
+        assertThat(secondPage.productIds()).containsExactly(3L, 4L);
+        assertThat(index.search("bolt", 3, 2).productIds()).isEmpty();
+    }
+
+    @Test
+    void removedAndReindexedProductsLeaveNoStalePostings() {
+        index.index(1L, "Red hammer", "");
+        index.index(2L, "Red saw", "");
+
+        index.remove(1L);
+        index.index(2L, "Blue saw", "");
+
+        assertThat(index.search("red", 0, 10).total()).isZero();
+        assertThat(index.search("blue", 0, 10).productIds()).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.termCount()).isEqualTo(2); // "red" and "hammer" were pruned with their last product
+    }
+
+    @Test
+    void shortQueryWordsMatchOnlyWholeWords() {
+        index.index(1L, "A4 paper", "");
+        index.index(2L, "Ax handle", "");
+
+        assertThat(index.search("a", 0, 10).total()).isZero();
+        assertThat(index.search("ax", 0, 10).productIds()).containsExactly(2L);
+        assertThat(index.search("pa", 0, 10).productIds()).containsExactly(1L);
+    }
+
+    @Test
+    void cappedExpansionKeepsExactAndMostUsedTermsAndReportsTruncation() {
+        ProductSearchIndex capped = new ProductSearchIndex(null, 2, 2);
+        capped.index(1L, "pan", "");
+        capped.index(2L, "panda", "");
+        capped.index(3L, "pane", "");
+        capped.index(4L, "pane", "");
+        capped.index(5L, "panel", "");
+
+        ProductSearchIndex.SearchPage page = capped.search("pan", 0, 10);
+
+        assertThat(page.truncated()).isTrue();
+        assertThat(page.productIds()).containsExactly(1L, 3L, 4L); // "pan" is exact, "pane" has the most products
+    }
+}
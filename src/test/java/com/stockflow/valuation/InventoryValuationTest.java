@@ -0,0 +1,111 @@
+package com.stockflow.valuation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryValuationTest {
+
+    private InventoryValuation valuation;
+
+    @BeforeEach
+    void setUp() {
+        valuation = valuationWithBands("10", "50", "100", "500"); // The JdbcTemplate is only used by build() and reconcile()
+    }
+
+    private static InventoryValuation valuationWithBands(String... bands) {
+        return new InventoryValuation(null, new SimpleMeterRegistry(), List.of(bands).stream().map(BigDecimal::new).toList());
+    }
+
+    private int bandOf(double price) {
+        return valuation.valueOf(price, 1L).band();
+    }
+
+    @Test
+    void bandMatchesPostgresWidthBucket() {
+        // Expected values are width_bucket(round(price * 100), '{1000,5000,10000,50000}'), a bound belongs to the band it opens
+        assertThat(bandOf(0)).isEqualTo(0);
+        assertThat(bandOf(9.99)).isEqualTo(0);
+        assertThat(bandOf(10)).isEqualTo(1);
+        assertThat(bandOf(10.01)).isEqualTo(1);
+        assertThat(bandOf(49.99)).isEqualTo(1);
+        assertThat(bandOf(50)).isEqualTo(2);
+        assertThat(bandOf(100)).isEqualTo(3);
+        assertThat(bandOf(499.99)).isEqualTo(3);
+        assertThat(bandOf(500)).isEqualTo(4);
+        assertThat(bandOf(1_000_000)).isEqualTo(4);
+        assertThat(bandOf(9.995)).isEqualTo(1); // Rounds to 1000 cents first, as round(price::numeric * 100) does
+    }
+
+    @Test
+    void bandBoundsAreSortedAndDeduplicated() {
+        valuation = valuationWithBands("100", "10", "10");
+
+        assertThat(valuation.getBandBoundsCents()).containsExactly(1000, 10000);
+        assertThat(bandOf(50)).isEqualTo(1);
+        assertThat(valuation.current().bandCounts()).hasSize(3);
+    }
+
+    @Test
+    void withoutBandsEveryPriceIsInBandZero() {
+        valuation = valuationWithBands();
+
+        assertThat(bandOf(0)).isEqualTo(0);
+        assertThat(bandOf(1000)).isEqualTo(0);
+        assertThat(valuation.current().bandCounts()).hasSize(1);
+    }
+
+    @Test
+    void toCentsUsesTheShortestDecimalForm() {
+        assertThat(InventoryValuation.toCents(19.99)).isEqualTo(1999);
+        assertThat(InventoryValuation.toCents(0.1 + 0.2)).isEqualTo(30);
+        assertThat(InventoryValuation.toCents(0.105)).isEqualTo(11); // Half up, like round() on numeric
+    }
+
+    @Test
+    void totalsFollowCreateUpdateAndDelete() {
+        InventoryValuation.StockValue created = valuation.valueOf(19.99, 3L);
+        InventoryValuation.StockValue emptied = valuation.valueOf(60, 0L);
+
+        valuation.onChangeAfterCommit(null, created); // No transaction, applied immediately
+        valuation.onChangeAfterCommit(null, valuation.valueOf(5, null));
+        InventoryValuation.Totals afterCreates = valuation.current();
+
+        assertThat(afterCreates.products()).isEqualTo(2);
+        assertThat(afterCreates.zeroStock()).isEqualTo(1);
+        assertThat(afterCreates.units()).isEqualTo(3);
+        assertThat(afterCreates.valueCents()).isEqualTo(5997);
+        assertThat(afterCreates.bandCounts()).containsExactly(1, 1, 0, 0, 0);
+
+        valuation.onChangeAfterCommit(created, emptied);
+        InventoryValuation.Totals afterUpdate = valuation.current();
+
+        assertThat(afterUpdate.products()).isEqualTo(2);
+        assertThat(afterUpdate.zeroStock()).isEqualTo(2);
+        assertThat(afterUpdate.units()).isZero();
+        assertThat(afterUpdate.valueCents()).isZero();
+        assertThat(afterUpdate.bandCounts()).containsExactly(1, 0, 1, 0, 0);
+
+        valuation.onChangeAfterCommit(emptied, null);
+
+        assertThat(valuation.current().products()).isEqualTo(1);
+        assertThat(valuation.current().bandCounts()).containsExactly(1, 0, 0, 0, 0);
+        assertThat(afterCreates.bandCounts()).containsExactly(1, 1, 0, 0, 0); // Earlier totals are never changed in place
+    }
+
+    @Test
+    void sameAsComparesEverythingButTheReconciliationTime() {
+        InventoryValuation.Totals totals = InventoryValuation.Totals.empty(3, null).plus(new InventoryValuation.StockValue(500, 2, 1));
+        InventoryValuation.Totals reconciled = new InventoryValuation.Totals(1, 0, 2, 1000, new long[]{0, 1, 0}, Instant.now());
+
+        assertThat(totals.sameAs(reconciled)).isTrue();
+        assertThat(totals.sameAs(reconciled.plus(new InventoryValuation.StockValue(500, 0, 1)))).isFalse();
+        assertThat(totals.minus(new InventoryValuation.StockValue(500, 2, 1)).sameAs(InventoryValuation.Totals.empty(3, null))).isTrue();
+    }
+}